@@ -15,6 +15,11 @@ sourceSets {
         java {
             srcDir(file("src/autogenerated/java"))
         }
+        resources {
+            // Binary registry snapshots, generated from the json files of Minestom Data
+            srcDir(files(project(":code-generators").layout.buildDirectory.dir("generated/registry-snapshots"))
+                .builtBy(":code-generators:generateRegistrySnapshots"))
+        }
     }
 }
 
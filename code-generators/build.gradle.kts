@@ -21,4 +21,12 @@ tasks {
     getByName<JavaExec>("run") {
         args = listOf(project.rootProject.projectDir.resolve("src").resolve("autogenerated").resolve("java").absolutePath)
     }
+    // Binary registry snapshots, added to the resources of the server
+    register<JavaExec>("generateRegistrySnapshots") {
+        val output = layout.buildDirectory.dir("generated/registry-snapshots")
+        classpath = sourceSets.main.get().runtimeClasspath
+        mainClass.set("net.minestom.codegen.registry.RegistrySnapshotGenerator")
+        args(output.get().asFile.absolutePath)
+        outputs.dir(output)
+    }
 }
@@ -0,0 +1,206 @@
+package net.minestom.codegen.registry;
+
+import com.google.gson.stream.JsonReader;
+import net.minestom.codegen.MinestomCodeGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Converts the registry json files to a compact binary snapshot, read by {@code net.minestom.server.registry.RegistrySnapshot}.
+ * <p>
+ * Format (big-endian):
+ * <pre>
+ * int     magic ("MSRG")
+ * byte    version
+ * int     CRC32 of the json file, snapshots of other json files are ignored
+ * varint  string count, followed by each string as (varint length, utf-8 bytes)
+ * value   root value
+ * </pre>
+ * A value is a type byte followed by its payload: null, false, true, long (zigzag varint), double,
+ * string (varint index in the string table), list (varint size, values), map (varint size, [key index, value]).
+ */
+public final class RegistrySnapshotGenerator extends MinestomCodeGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegistrySnapshotGenerator.class);
+
+    public static final int MAGIC = 0x4D535247;
+    public static final byte VERSION = 2;
+    /**
+     * Json files converted by {@link #main(String[])}, matching {@code Registry.Resource}.
+     */
+    public static final List<String> RESOURCES = List.of(
+            "blocks.json", "items.json", "entities.json", "enchantments.json",
+            "sounds.json", "custom_statistics.json", "potion_effects.json", "potions.json", "particles.json",
+            "tags/block_tags.json", "tags/entity_type_tags.json", "tags/fluid_tags.json",
+            "tags/gameplay_tags.json", "tags/item_tags.json");
+
+    static final byte NULL = 0, FALSE = 1, TRUE = 2, LONG = 3, DOUBLE = 4, STRING = 5, LIST = 6, MAP = 7;
+
+    private final List<String> resources;
+    private final File outputFolder;
+
+    /**
+     * @param resources    the json resources to convert, e.g. {@code blocks.json}
+     * @param outputFolder the resources root, snapshots are written to {@code registry/<name>.bin}
+     */
+    public RegistrySnapshotGenerator(@NotNull List<String> resources, @NotNull File outputFolder) {
+        this.resources = resources;
+        this.outputFolder = outputFolder;
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            LOGGER.error("Usage: <resources folder>");
+            return;
+        }
+        new RegistrySnapshotGenerator(RESOURCES, new File(args[0])).generate();
+    }
+
+    @Override
+    public void generate() {
+        for (String resource : resources) {
+            final File target = new File(outputFolder, snapshotName(resource));
+            final File parent = target.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                LOGGER.error("Output folder for registry snapshots does not exist and could not be created.");
+                return;
+            }
+            try (InputStream input = RegistrySnapshotGenerator.class.getResourceAsStream("/" + resource)) {
+                if (input == null) {
+                    LOGGER.error("Failed to find resource file {}", resource);
+                    continue;
+                }
+                final byte[] json = input.readAllBytes();
+                final Object root;
+                try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8))) {
+                    root = readValue(reader);
+                }
+                CRC32 crc = new CRC32();
+                crc.update(json);
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target)))) {
+                    write(output, root, (int) crc.getValue());
+                }
+            } catch (IOException e) {
+                LOGGER.error("Failed to generate the registry snapshot of " + resource, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the snapshot location of a json resource, must match {@code Registry.Resource}.
+     */
+    public static @NotNull String snapshotName(@NotNull String resource) {
+        return "registry/" + resource.substring(0, resource.length() - ".json".length()) + ".bin";
+    }
+
+    static void write(DataOutputStream output, Object root, int sourceHash) throws IOException {
+        // Shared keys (e.g. "hardness") and values (e.g. "minecraft:stone") are only written once
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        collectStrings(root, strings);
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeInt(sourceHash);
+        writeVarInt(output, strings.size());
+        for (String string : strings.keySet()) {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+        }
+        writeValue(output, root, strings);
+    }
+
+    private static void collectStrings(Object value, Map<String, Integer> strings) {
+        if (value instanceof String string) {
+            strings.putIfAbsent(string, strings.size());
+        } else if (value instanceof List<?> list) {
+            for (Object element : list) collectStrings(element, strings);
+        } else if (value instanceof Map<?, ?> map) {
+            for (var entry : map.entrySet()) {
+                collectStrings(entry.getKey(), strings);
+                collectStrings(entry.getValue(), strings);
+            }
+        }
+    }
+
+    private static void writeValue(DataOutputStream output, Object value, Map<String, Integer> strings) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof Boolean bool) {
+            output.writeByte(bool ? TRUE : FALSE);
+        } else if (value instanceof Long number) {
+            output.writeByte(LONG);
+            writeVarLong(output, (number << 1) ^ (number >> 63));
+        } else if (value instanceof Double number) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(number);
+        } else if (value instanceof String string) {
+            output.writeByte(STRING);
+            writeVarInt(output, strings.get(string));
+        } else if (value instanceof List<?> list) {
+            output.writeByte(LIST);
+            writeVarInt(output, list.size());
+            for (Object element : list) writeValue(output, element, strings);
+        } else if (value instanceof Map<?, ?> map) {
+            output.writeByte(MAP);
+            writeVarInt(output, map.size());
+            for (var entry : map.entrySet()) {
+                writeVarInt(output, strings.get((String) entry.getKey()));
+                writeValue(output, entry.getValue(), strings);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported value: " + value);
+        }
+    }
+
+    private static Object readValue(JsonReader reader) throws IOException {
+        return switch (reader.peek()) {
+            case BEGIN_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) list.add(readValue(reader));
+                reader.endArray();
+                yield list;
+            }
+            case BEGIN_OBJECT -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) map.put(reader.nextName(), readValue(reader));
+                reader.endObject();
+                yield map;
+            }
+            case STRING -> reader.nextString();
+            case NUMBER -> {
+                // Same as ToNumberPolicy.LONG_OR_DOUBLE used by the json loader
+                final String number = reader.nextString();
+                try {
+                    yield Long.parseLong(number);
+                } catch (NumberFormatException e) {
+                    yield Double.parseDouble(number);
+                }
+            }
+            case BOOLEAN -> reader.nextBoolean();
+            case NULL -> {
+                reader.nextNull();
+                yield null;
+            }
+            default -> throw new IllegalStateException("Invalid peek: " + reader.peek());
+        };
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        writeVarLong(output, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+}
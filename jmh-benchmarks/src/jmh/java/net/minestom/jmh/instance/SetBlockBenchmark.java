@@ -0,0 +1,63 @@
+package net.minestom.jmh.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@Threads(4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SetBlockBenchmark {
+    private static final int CHUNK_COUNT = 16;
+
+    // Whether all the threads edit the same chunk, or each thread its own chunk
+    @Param({"true", "false"})
+    public boolean sameChunk;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private InstanceContainer instance;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int chunkX;
+        private int counter;
+
+        @Setup
+        public void setup(SetBlockBenchmark benchmark) {
+            this.chunkX = benchmark.sameChunk ? 0 : benchmark.threadCounter.getAndIncrement() % CHUNK_COUNT;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        for (int chunkX = 0; chunkX < CHUNK_COUNT; chunkX++) {
+            instance.loadChunk(chunkX, 0).join();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+
+    @Benchmark
+    public void setBlock(ThreadState state) {
+        final int counter = state.counter++;
+        final int index = counter & 0xFFF;
+        final int x = state.chunkX * 16 + (index & 0xF);
+        final int z = (index >> 4) & 0xF;
+        final int y = index >> 8;
+        // Alternate blocks every pass, setting the same block twice in a tick is skipped
+        instance.setBlock(x, y, z, (counter & 0x1000) == 0 ? Block.STONE : Block.GRASS_BLOCK);
+    }
+}
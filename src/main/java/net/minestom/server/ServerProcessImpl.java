@@ -11,6 +11,7 @@ import net.minestom.server.extensions.ExtensionManager;
 import net.minestom.server.gamedata.tags.TagManager;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
 import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.listener.manager.PacketListenerManager;
@@ -34,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 final class ServerProcessImpl implements ServerProcess {
@@ -293,9 +295,17 @@ final class ServerProcessImpl implements ServerProcess {
             // Tick all chunks (and entities inside)
             dispatcher().updateAndAwait(tickStart);
 
+            // Send the block changes batched during the tick
+            for (Instance instance : instance().getInstances()) {
+                if (instance instanceof InstanceContainer container) {
+                    container.flushBlockChanges();
+                }
+            }
+
             // Clear removed entities & update threads
+            // Use the remaining tick time
             final long tickTime = System.currentTimeMillis() - tickStart;
-            dispatcher().refreshThreads(tickTime);
+            dispatcher().refreshThreads(TimeUnit.MILLISECONDS.toNanos(Math.max(0, MinecraftServer.TICK_MS - tickTime)));
         }
     }
 }
@@ -0,0 +1,124 @@
+package net.minestom.server.collision;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable collision shape of a block state, made of axis-aligned boxes relative to the block origin.
+ * <p>
+ * Boxes may extend outside the unit cube (e.g. fences and walls are 1.5 blocks high).
+ */
+public final class BlockShape {
+    public static final BlockShape EMPTY = new BlockShape(new double[0]);
+    public static final BlockShape FULL_BLOCK = new BlockShape(new double[]{0, 0, 0, 1, 1, 1});
+
+    static final double EPSILON = 1.0E-7;
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?(E-?\\d+)?");
+    // Most states share a handful of shapes (slabs, stairs, etc...)
+    private static final Map<String, BlockShape> SHAPES = new ConcurrentHashMap<>();
+
+    /**
+     * Box coordinates, stored as consecutive {@code minX, minY, minZ, maxX, maxY, maxZ}.
+     */
+    private final double[] boxes;
+    private final double maxY;
+
+    private BlockShape(double[] boxes) {
+        this.boxes = boxes;
+        double maxY = 0;
+        for (int i = 0; i < boxes.length; i += 6) maxY = Math.max(maxY, boxes[i + 4]);
+        this.maxY = maxY;
+    }
+
+    /**
+     * Parses a shape from the registry format, e.g. {@code [AABB[0.0, 0.0, 0.0] -> [1.0, 0.5, 1.0]]}.
+     *
+     * @param shape    the shape string, null to use the fallback
+     * @param fallback the shape to use when {@code shape} is null
+     * @return the parsed shape
+     */
+    public static @NotNull BlockShape parse(@Nullable String shape, @NotNull BlockShape fallback) {
+        if (shape == null) return fallback;
+        return SHAPES.computeIfAbsent(shape, s -> {
+            double[] boxes = new double[12];
+            int length = 0;
+            final Matcher matcher = NUMBER.matcher(s);
+            while (matcher.find()) {
+                if (length == boxes.length) boxes = Arrays.copyOf(boxes, length * 2);
+                boxes[length++] = Double.parseDouble(matcher.group());
+            }
+            if (length % 6 != 0) throw new IllegalArgumentException("Invalid collision shape: " + s);
+            if (length == 0) return EMPTY;
+            if (length == 6 && Arrays.equals(boxes, 0, 6, FULL_BLOCK.boxes, 0, 6)) return FULL_BLOCK;
+            return new BlockShape(Arrays.copyOf(boxes, length));
+        });
+    }
+
+    public boolean isEmpty() {
+        return boxes.length == 0;
+    }
+
+    /**
+     * Gets the highest point of the shape, can be above 1.
+     *
+     * @return the shape height
+     */
+    public double maxY() {
+        return maxY;
+    }
+
+    /**
+     * Computes how far a box can move along an axis before hitting this shape.
+     * <p>
+     * Only boxes overlapping the moving box on the two other axes are considered,
+     * and boxes already intersecting the moving box are ignored to avoid getting stuck.
+     *
+     * @param axis     the movement axis, 0 for X, 1 for Y and 2 for Z
+     * @param blockX   the block X of this shape
+     * @param blockY   the block Y of this shape
+     * @param blockZ   the block Z of this shape
+     * @param min      the moving box min coordinates, indexed by axis
+     * @param max      the moving box max coordinates, indexed by axis
+     * @param distance the wanted movement
+     * @return the allowed movement, between 0 and {@code distance}
+     */
+    double clip(int axis, int blockX, int blockY, int blockZ,
+                double[] min, double[] max, double distance) {
+        final double[] boxes = this.boxes;
+        final int axis1 = axis == 0 ? 1 : 0;
+        final int axis2 = axis == 2 ? 1 : 2;
+        final double origin = origin(axis, blockX, blockY, blockZ);
+        final double origin1 = origin(axis1, blockX, blockY, blockZ);
+        final double origin2 = origin(axis2, blockX, blockY, blockZ);
+        for (int i = 0; i < boxes.length; i += 6) {
+            if (boxes[i + 3 + axis1] + origin1 <= min[axis1] + EPSILON ||
+                    boxes[i + axis1] + origin1 >= max[axis1] - EPSILON) continue;
+            if (boxes[i + 3 + axis2] + origin2 <= min[axis2] + EPSILON ||
+                    boxes[i + axis2] + origin2 >= max[axis2] - EPSILON) continue;
+            if (distance > 0) {
+                final double face = boxes[i + axis] + origin;
+                if (face >= max[axis] - EPSILON) distance = Math.min(distance, Math.max(0, face - max[axis]));
+            } else {
+                final double face = boxes[i + 3 + axis] + origin;
+                if (face <= min[axis] + EPSILON) distance = Math.max(distance, Math.min(0, face - min[axis]));
+            }
+        }
+        return distance;
+    }
+
+    private static double origin(int axis, int blockX, int blockY, int blockZ) {
+        return axis == 0 ? blockX : axis == 1 ? blockY : blockZ;
+    }
+
+    @Override
+    public String toString() {
+        return "BlockShape" + Arrays.toString(boxes);
+    }
+}
@@ -10,16 +10,13 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
-
 public class CollisionUtils {
 
-    private static final Vec Y_AXIS = new Vec(0, 1, 0);
-    private static final Vec X_AXIS = new Vec(1, 0, 0);
-    private static final Vec Z_AXIS = new Vec(0, 0, 1);
-
     /**
      * Moves an entity with physics applied (ie checking against blocks)
+     * <p>
+     * The bounding box is swept one axis at a time (Y, X then Z) against the collision shape
+     * of every block in the swept area, unloaded chunks being considered as full blocks.
      *
      * @param entity the entity to move
      * @return the result of physics simulation
@@ -31,31 +28,21 @@ public class CollisionUtils {
         final Pos currentPosition = entity.getPosition();
         final BoundingBox boundingBox = entity.getBoundingBox();
 
-        Vec stepVec = currentPosition.asVec();
-        boolean xCheck = false, yCheck = false, zCheck = false;
-
-        if (deltaPosition.y() != 0) {
-            final StepResult yCollision = stepAxis(instance, originChunk, stepVec, Y_AXIS, deltaPosition.y(),
-                    deltaPosition.y() > 0 ? boundingBox.getTopFace() : boundingBox.getBottomFace());
-            yCheck = yCollision.foundCollision;
-            stepVec = yCollision.newPosition;
-        }
-
-        if (deltaPosition.x() != 0) {
-            final StepResult xCollision = stepAxis(instance, originChunk, stepVec, X_AXIS, deltaPosition.x(),
-                    deltaPosition.x() < 0 ? boundingBox.getLeftFace() : boundingBox.getRightFace());
-            xCheck = xCollision.foundCollision;
-            stepVec = xCollision.newPosition;
-        }
-
-        if (deltaPosition.z() != 0) {
-            final StepResult zCollision = stepAxis(instance, originChunk, stepVec, Z_AXIS, deltaPosition.z(),
-                    deltaPosition.z() > 0 ? boundingBox.getBackFace() : boundingBox.getFrontFace());
-            zCheck = zCollision.foundCollision;
-            stepVec = zCollision.newPosition;
-        }
-
-        return new PhysicsResult(currentPosition.samePoint(stepVec) ? currentPosition : currentPosition.withCoord(stepVec),
+        final double halfWidth = boundingBox.getWidth() / 2;
+        final double halfDepth = boundingBox.getDepth() / 2;
+        final double[] min = {currentPosition.x() - halfWidth, currentPosition.y(), currentPosition.z() - halfDepth};
+        final double[] max = {currentPosition.x() + halfWidth, currentPosition.y() + boundingBox.getHeight(), currentPosition.z() + halfDepth};
+
+        final double deltaY = sweep(instance, originChunk, 1, deltaPosition.y(), min, max);
+        final double deltaX = sweep(instance, originChunk, 0, deltaPosition.x(), min, max);
+        final double deltaZ = sweep(instance, originChunk, 2, deltaPosition.z(), min, max);
+        final boolean xCheck = deltaX != deltaPosition.x();
+        final boolean yCheck = deltaY != deltaPosition.y();
+        final boolean zCheck = deltaZ != deltaPosition.z();
+
+        final Pos newPosition = deltaX == 0 && deltaY == 0 && deltaZ == 0 ? currentPosition :
+                currentPosition.add(deltaX, deltaY, deltaZ);
+        return new PhysicsResult(newPosition,
                 new Vec(xCheck ? 0 : deltaPosition.x(),
                         yCheck ? 0 : deltaPosition.y(),
                         zCheck ? 0 : deltaPosition.z()),
@@ -63,76 +50,52 @@ public class CollisionUtils {
     }
 
     /**
-     * Steps on a single axis. Checks against collisions for each point of 'corners'. This method assumes that startPosition is valid.
-     * Immediately return false if corners is of length 0.
-     *
-     * @param instance      instance to check blocks from
-     * @param startPosition starting position for stepping, can be intermediary position from last step
-     * @param axis          step direction. Works best if unit vector and aligned to an axis
-     * @param stepAmount    how much to step in the direction (in blocks)
-     * @param corners       the corners to check against
-     * @return result of the step
-     */
-    private static StepResult stepAxis(Instance instance, Chunk originChunk, Vec startPosition, Vec axis, double stepAmount, List<Vec> corners) {
-        final Vec[] mutableCorners = corners.toArray(Vec[]::new);
-        final double sign = Math.signum(stepAmount);
-        final int blockLength = (int) stepAmount;
-        final double remainingLength = stepAmount - blockLength;
-        // used to determine if 'remainingLength' should be used
-        boolean collisionFound = false;
-        for (int i = 0; i < Math.abs(blockLength); i++) {
-            collisionFound = stepOnce(instance, originChunk, axis, sign, mutableCorners);
-            if (collisionFound) break;
-        }
-
-        // add remainingLength
-        if (!collisionFound) {
-            collisionFound = stepOnce(instance, originChunk, axis, remainingLength, mutableCorners);
-        }
-
-        // find the corner which moved the least
-        double smallestDisplacement = Double.POSITIVE_INFINITY;
-        for (int i = 0; i < corners.size(); i++) {
-            final double displacement = corners.get(i).distance(mutableCorners[i]);
-            if (displacement < smallestDisplacement) {
-                smallestDisplacement = displacement;
-            }
-        }
-
-        return new StepResult(startPosition.add(new Vec(smallestDisplacement).mul(axis).mul(sign)), collisionFound);
-    }
-
-    /**
-     * Steps once (by a length of 1 block) on the given axis.
+     * Moves a box along an axis until it hits a block collision shape.
+     * <p>
+     * Only the blocks swept by the box are visited, blocks below are also checked
+     * for shapes higher than a block (fences, walls).
      *
-     * @param instance instance to get blocks from
-     * @param axis     the axis to move along
-     * @param corners  the corners of the bounding box to consider
-     * @return true if found collision
+     * @param axis     the axis to move along, 0 for X, 1 for Y and 2 for Z
+     * @param distance the wanted movement
+     * @param min      the box min coordinates, updated with the allowed movement
+     * @param max      the box max coordinates, updated with the allowed movement
+     * @return the allowed movement
      */
-    private static boolean stepOnce(Instance instance, Chunk originChunk, Vec axis, double amount, Vec[] corners) {
-        final double sign = Math.signum(amount);
-        for (int cornerIndex = 0; cornerIndex < corners.length; cornerIndex++) {
-            final Vec originalCorner = corners[cornerIndex];
-            final Vec newCorner = originalCorner.add(axis.mul(amount));
-            final Chunk chunk = ChunkUtils.retrieve(instance, originChunk, newCorner);
-            if (!ChunkUtils.isLoaded(chunk)) {
-                // Collision at chunk border
-                return true;
+    private static double sweep(Instance instance, Chunk originChunk, int axis, double distance,
+                                double[] min, double[] max) {
+        if (distance == 0) return 0;
+        final double eps = BlockShape.EPSILON;
+        final int minX = (int) Math.floor(axis != 0 ? min[0] + eps : distance > 0 ? max[0] - eps : min[0] + distance);
+        final int maxX = (int) Math.floor(axis != 0 ? max[0] - eps : distance > 0 ? max[0] + distance : min[0] + eps);
+        // Start one block lower for shapes higher than a block
+        final int minY = (int) Math.floor(axis != 1 ? min[1] + eps : distance > 0 ? max[1] - eps : min[1] + distance) - 1;
+        final int maxY = (int) Math.floor(axis != 1 ? max[1] - eps : distance > 0 ? max[1] + distance : min[1] + eps);
+        final int minZ = (int) Math.floor(axis != 2 ? min[2] + eps : distance > 0 ? max[2] - eps : min[2] + distance);
+        final int maxZ = (int) Math.floor(axis != 2 ? max[2] - eps : distance > 0 ? max[2] + distance : min[2] + eps);
+
+        Chunk chunk = originChunk;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final int chunkX = ChunkUtils.getChunkCoordinate(x), chunkZ = ChunkUtils.getChunkCoordinate(z);
+                if (chunk == null || chunk.getChunkX() != chunkX || chunk.getChunkZ() != chunkZ) {
+                    chunk = instance.getChunk(chunkX, chunkZ);
+                }
+                final boolean loaded = ChunkUtils.isLoaded(chunk);
+                for (int y = minY; y <= maxY; y++) {
+                    // Collision at chunk border
+                    final BlockShape shape = loaded ?
+                            chunk.getBlock(x, y, z, Block.Getter.Condition.TYPE).registry().collisionShape() :
+                            BlockShape.FULL_BLOCK;
+                    if (shape.isEmpty()) continue;
+                    if (y == minY && shape.maxY() <= 1) continue;
+                    distance = shape.clip(axis, x, y, z, min, max, distance);
+                    if (distance == 0) return 0;
+                }
             }
-            final Block block = chunk.getBlock(newCorner, Block.Getter.Condition.TYPE);
-            // TODO: block collision boxes
-            // TODO: for the moment, always consider a full block
-            if (block != null && block.isSolid()) {
-                corners[cornerIndex] = new Vec(
-                        Math.abs(axis.x()) > 10e-16 ? newCorner.blockX() - axis.x() * sign : originalCorner.x(),
-                        Math.abs(axis.y()) > 10e-16 ? newCorner.blockY() - axis.y() * sign : originalCorner.y(),
-                        Math.abs(axis.z()) > 10e-16 ? newCorner.blockZ() - axis.z() * sign : originalCorner.z());
-                return true;
-            }
-            corners[cornerIndex] = newCorner;
         }
-        return false;
+        min[axis] += distance;
+        max[axis] += distance;
+        return distance;
     }
 
     /**
@@ -167,8 +130,4 @@ public class CollisionUtils {
                                 Vec newVelocity,
                                 boolean isOnGround) {
     }
-
-    private record StepResult(Vec newPosition,
-                              boolean foundCollision) {
-    }
 }
@@ -53,7 +53,6 @@ import net.minestom.server.utils.validate.Check;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 import space.vectrix.flare.fastutil.Int2ObjectSyncMap;
 
 import java.time.Duration;
@@ -95,6 +94,9 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
     // Velocity
     protected Vec velocity = Vec.ZERO; // Movement in block per second
     protected boolean hasPhysics = true;
+    // Velocity simulated by viewers since the last velocity packet, in block per second
+    private Vec syncedVelocity = Vec.ZERO;
+    private boolean velocitySync;
 
     /**
      * The amount of drag applied on the Y axle.
@@ -165,7 +167,7 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
             this instanceof Player player ? entity -> entity.viewEngine.viewableOption.addition.accept(player) : null,
             this instanceof Player player ? entity -> entity.viewEngine.viewableOption.removal.accept(player) : null);
     protected final Set<Player> viewers = viewEngine.asSet();
-    private final MutableNBTCompound nbtCompound = new MutableNBTCompound();
+    private final TagHandler tagHandler = TagHandler.newHandler();
     private final Scheduler scheduler = Scheduler.newScheduler();
     private final Set<Permission> permissions = new CopyOnWriteArraySet<>();
 
@@ -553,6 +555,8 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
         if (!Cooldown.hasCooldown(time, lastAbsoluteSynchronizationTime, getSynchronizationCooldown())) {
             synchronizePosition(false);
         }
+        // Send the movement of this tick
+        syncMovement();
     }
 
     private void velocityTick() {
@@ -589,9 +593,7 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
         final var finalVelocityPosition = CollisionUtils.applyWorldBorder(instance, position, newPosition);
         if (finalVelocityPosition.samePoint(position)) {
             this.velocity = Vec.ZERO;
-            if (hasVelocity) {
-                sendPacketToViewers(getVelocityPacket());
-            }
+            if (hasVelocity) this.velocitySync = true;
             return;
         }
         final Chunk finalChunk = ChunkUtils.retrieve(instance, currentChunk, finalVelocityPosition);
@@ -600,8 +602,7 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
             return;
         }
 
-        if (entityType == EntityTypes.ITEM || entityType == EntityType.FALLING_BLOCK) {
-            // TODO find other exceptions
+        if (isItemLike()) {
             this.previousPosition = this.position;
             this.position = finalVelocityPosition;
             refreshCoordinate(finalVelocityPosition);
@@ -614,43 +615,71 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
             final double airDrag = this instanceof LivingEntity ? 0.91 : 0.98;
             final double drag = this.onGround ?
                     finalChunk.getBlock(position).registry().friction() : airDrag;
-            this.velocity = newVelocity
-                    // Convert from block/tick to block/sec
-                    .mul(tps)
-                    // Apply drag
-                    .apply((x, y, z) -> new Vec(
-                            x * drag,
-                            !noGravity ? y * (1 - gravityDragPerTick) : y,
-                            z * drag
-                    ))
-                    // Prevent infinitely decreasing velocity
-                    .apply(Vec.Operator.EPSILON);
+            this.velocity = applyDrag(newVelocity, tps, drag, noGravity);
+            if (newVelocity.equals(deltaPos)) {
+                // No collision, viewers apply the same gravity and drag to the last received velocity
+                final Vec syncedVelocity = this.syncedVelocity;
+                this.syncedVelocity = applyDrag(new Vec(
+                        syncedVelocity.x() / tps,
+                        syncedVelocity.y() / tps - (noGravity ? 0 : gravityAcceleration),
+                        syncedVelocity.z() / tps), tps, drag, noGravity);
+            }
         }
         // Verify if velocity packet has to be sent
         if (hasVelocity || gravityTickCount > 0) {
-            sendPacketToViewers(getVelocityPacket());
+            this.velocitySync = true;
         }
     }
 
+    private Vec applyDrag(Vec deltaPosition, float tps, double drag, boolean noGravity) {
+        return deltaPosition
+                // Convert from block/tick to block/sec
+                .mul(tps)
+                // Apply drag
+                .apply((x, y, z) -> new Vec(
+                        x * drag,
+                        !noGravity ? y * (1 - gravityDragPerTick) : y,
+                        z * drag
+                ))
+                // Prevent infinitely decreasing velocity
+                .apply(Vec.Operator.EPSILON);
+    }
+
     private void touchTick() {
-        // TODO do not call every tick (it is pretty expensive)
         final int minX = (int) Math.floor(boundingBox.getMinX());
         final int maxX = (int) Math.ceil(boundingBox.getMaxX());
         final int minY = (int) Math.floor(boundingBox.getMinY());
         final int maxY = (int) Math.ceil(boundingBox.getMaxY());
         final int minZ = (int) Math.floor(boundingBox.getMinZ());
         final int maxZ = (int) Math.ceil(boundingBox.getMaxZ());
+        // Only visit the sections containing touchable blocks, usually none
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                final Chunk chunk = chunkX == currentChunk.getChunkX() && chunkZ == currentChunk.getChunkZ() ?
+                        currentChunk : instance.getChunk(chunkX, chunkZ);
+                if (!ChunkUtils.isLoaded(chunk))
+                    continue;
+                for (int section = minY >> 4; section <= maxY >> 4; section++) {
+                    if (!chunk.hasTouchableBlocks(section))
+                        continue;
+                    touchSection(chunk,
+                            Math.max(minX, chunkX << 4), Math.min(maxX, (chunkX << 4) + 15),
+                            Math.max(minY, section << 4), Math.min(maxY, (section << 4) + 15),
+                            Math.max(minZ, chunkZ << 4), Math.min(maxZ, (chunkZ << 4) + 15));
+                }
+            }
+        }
+    }
+
+    private void touchSection(Chunk chunk, int minX, int maxX, int minY, int maxY, int minZ, int maxZ) {
         for (int y = minY; y <= maxY; y++) {
             for (int x = minX; x <= maxX; x++) {
                 for (int z = minZ; z <= maxZ; z++) {
-                    final Chunk chunk = ChunkUtils.retrieve(instance, currentChunk, x, z);
-                    if (!ChunkUtils.isLoaded(chunk))
-                        continue;
                     final Block block = chunk.getBlock(x, y, z, Block.Getter.Condition.CACHED);
                     if (block == null)
                         continue;
                     final BlockHandler handler = block.handler();
-                    if (handler != null) {
+                    if (handler != null && handler.isTouchable()) {
                         // checks that we are actually in the block, and not just here because of a rounding error
                         if (boundingBox.intersectWithBlock(x, y, z)) {
                             // TODO: replace with check with custom block bounding box
@@ -889,6 +918,7 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
         EntityVelocityEvent entityVelocityEvent = new EntityVelocityEvent(this, velocity);
         EventDispatcher.callCancellable(entityVelocityEvent, () -> {
             this.velocity = entityVelocityEvent.getVelocity();
+            this.syncedVelocity = velocity;
             sendPacketToViewersAndSelf(getVelocityPacket());
         });
     }
@@ -1231,7 +1261,7 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
     }
 
     /**
-     * Updates internal fields and sends updates.
+     * Updates internal fields, viewers are updated at the end of the entity tick.
      *
      * @param newPosition the new position
      */
@@ -1239,7 +1269,7 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
     public void refreshPosition(@NotNull final Pos newPosition, boolean ignoreView) {
         final var previousPosition = this.position;
         final Pos position = ignoreView ? previousPosition.withCoord(newPosition) : newPosition;
-        if (position.equals(lastSyncedPosition)) return;
+        if (position.equals(previousPosition)) return;
         this.position = position;
         this.previousPosition = previousPosition;
         if (!position.samePoint(previousPosition)) {
@@ -1250,29 +1280,74 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
                 this.velocity = position.sub(previousPosition).asVec().mul(MinecraftServer.TICK_PER_SECOND);
             }
         }
-        // Update viewers
-        final boolean viewChange = !position.sameView(lastSyncedPosition);
-        final double distanceX = Math.abs(position.x() - lastSyncedPosition.x());
-        final double distanceY = Math.abs(position.y() - lastSyncedPosition.y());
-        final double distanceZ = Math.abs(position.z() - lastSyncedPosition.z());
-        final boolean positionChange = (distanceX + distanceY + distanceZ) > 0;
+    }
 
+    /**
+     * Sends the minimal packets bringing viewers from the last synchronized state to the current one.
+     * <p>
+     * Values not changing the encoded packets are not sent, and keep accumulating until they do.
+     */
+    private void syncMovement() {
+        final Pos position = this.position;
+        final Pos lastSyncedPosition = this.lastSyncedPosition;
         final Chunk chunk = getChunk();
-        if (distanceX > 8 || distanceY > 8 || distanceZ > 8) {
-            PacketUtils.prepareViewablePacket(chunk, new EntityTeleportPacket(getEntityId(), position, isOnGround()), this);
-            this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
-        } else if (positionChange && viewChange) {
-            PacketUtils.prepareViewablePacket(chunk, EntityPositionAndRotationPacket.getPacket(getEntityId(), position,
-                    lastSyncedPosition, isOnGround()), this);
-            // Fix head rotation
-            PacketUtils.prepareViewablePacket(chunk, new EntityHeadLookPacket(getEntityId(), position.yaw()), this);
-        } else if (positionChange) {
-            PacketUtils.prepareViewablePacket(chunk, EntityPositionPacket.getPacket(getEntityId(), position, lastSyncedPosition, onGround), this);
-        } else if (viewChange) {
-            PacketUtils.prepareViewablePacket(chunk, new EntityHeadLookPacket(getEntityId(), position.yaw()), this);
-            PacketUtils.prepareViewablePacket(chunk, new EntityRotationPacket(getEntityId(), position.yaw(), position.pitch(), onGround), this);
+        if (!position.equals(lastSyncedPosition) && !isItemLike()) {
+            final double distanceX = Math.abs(position.x() - lastSyncedPosition.x());
+            final double distanceY = Math.abs(position.y() - lastSyncedPosition.y());
+            final double distanceZ = Math.abs(position.z() - lastSyncedPosition.z());
+            if (distanceX > 8 || distanceY > 8 || distanceZ > 8) {
+                PacketUtils.prepareViewablePacket(chunk, new EntityTeleportPacket(getEntityId(), position, isOnGround()), this);
+                this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
+                this.lastSyncedPosition = position;
+            } else {
+                final boolean positionChange = delta(position.x(), lastSyncedPosition.x()) != 0 ||
+                        delta(position.y(), lastSyncedPosition.y()) != 0 ||
+                        delta(position.z(), lastSyncedPosition.z()) != 0;
+                final boolean viewChange = angle(position.yaw()) != angle(lastSyncedPosition.yaw()) ||
+                        angle(position.pitch()) != angle(lastSyncedPosition.pitch());
+                if (positionChange && viewChange) {
+                    PacketUtils.prepareViewablePacket(chunk, EntityPositionAndRotationPacket.getPacket(getEntityId(), position,
+                            lastSyncedPosition, isOnGround()), this);
+                    // Fix head rotation
+                    PacketUtils.prepareViewablePacket(chunk, new EntityHeadLookPacket(getEntityId(), position.yaw()), this);
+                    this.lastSyncedPosition = position;
+                } else if (positionChange) {
+                    PacketUtils.prepareViewablePacket(chunk, EntityPositionPacket.getPacket(getEntityId(), position, lastSyncedPosition, onGround), this);
+                    this.lastSyncedPosition = position.withView(lastSyncedPosition);
+                } else if (viewChange) {
+                    PacketUtils.prepareViewablePacket(chunk, new EntityHeadLookPacket(getEntityId(), position.yaw()), this);
+                    PacketUtils.prepareViewablePacket(chunk, new EntityRotationPacket(getEntityId(), position.yaw(), position.pitch(), onGround), this);
+                    this.lastSyncedPosition = lastSyncedPosition.withView(position);
+                }
+            }
         }
-        this.lastSyncedPosition = position;
+        if (velocitySync) {
+            this.velocitySync = false;
+            final EntityVelocityPacket packet = getVelocityPacket();
+            final Vec synced = syncedVelocity.mul(8000f / MinecraftServer.TICK_PER_SECOND);
+            if (packet.velocityX() != (short) synced.x() ||
+                    packet.velocityY() != (short) synced.y() ||
+                    packet.velocityZ() != (short) synced.z()) {
+                PacketUtils.prepareViewablePacket(chunk, packet, this);
+                this.syncedVelocity = velocity;
+            }
+        }
+    }
+
+    /**
+     * Gets if the position of this entity is simulated by viewers and only sent periodically.
+     */
+    private boolean isItemLike() {
+        // TODO find other exceptions
+        return entityType == EntityTypes.ITEM || entityType == EntityType.FALLING_BLOCK;
+    }
+
+    private static short delta(double position, double lastPosition) {
+        return (short) ((position * 32 - lastPosition * 32) * 128);
+    }
+
+    private static byte angle(float angle) {
+        return (byte) (angle * 256 / 360);
     }
 
     @ApiStatus.Internal
@@ -1542,12 +1617,12 @@ public class Entity implements Viewable, Tickable, Schedulable, TagHandler, Perm
 
     @Override
     public <T> @Nullable T getTag(@NotNull Tag<T> tag) {
-        return tag.read(nbtCompound);
+        return tagHandler.getTag(tag);
     }
 
     @Override
     public <T> void setTag(@NotNull Tag<T> tag, @Nullable T value) {
-        tag.write(nbtCompound, value);
+        tagHandler.setTag(tag, value);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package net.minestom.server.entity;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.identity.Identified;
@@ -105,6 +106,10 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
 
     private static final Component REMOVE_MESSAGE = Component.text("You have been removed from the server without reason.", NamedTextColor.RED);
 
+    private static final int CHUNKS_PER_TICK = Integer.getInteger("minestom.chunk-queue.chunks-per-tick", 16);
+    private static final int CHUNK_BYTES_PER_TICK = Integer.getInteger("minestom.chunk-queue.bytes-per-tick", 262_144);
+    private static final int CHUNK_QUEUE_MAX_PENDING_BYTES = Integer.getInteger("minestom.chunk-queue.max-pending-bytes", 1_048_576);
+
     private long lastKeepAlive;
     private boolean answerKeepAlive;
 
@@ -118,20 +123,25 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
 
     private DimensionType dimensionType;
     private GameMode gameMode;
+    // Chunks waiting to be sent, the closest ones being at the end
+    private final LongArrayList chunkQueue = new LongArrayList();
+    private long chunkQueueCenter;
+    private boolean chunkQueueSorted;
+    private volatile int chunksPerTick = CHUNKS_PER_TICK;
+    private volatile int chunkBytesPerTick = CHUNK_BYTES_PER_TICK;
+
     final IntegerBiConsumer chunkAdder = (chunkX, chunkZ) -> {
-        // Load new chunks
-        this.instance.loadOptionalChunk(chunkX, chunkZ).thenAccept(chunk -> {
-            try {
-                if (chunk != null) {
-                    chunk.sendChunk(this);
-                    EventDispatcher.call(new PlayerChunkLoadEvent(this, chunkX, chunkZ));
-                }
-            } catch (Exception e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-            }
-        });
+        // Load new chunks, sent progressively in #sendChunkQueue
+        synchronized (chunkQueue) {
+            this.chunkQueue.add(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+            this.chunkQueueSorted = false;
+        }
     };
     final IntegerBiConsumer chunkRemover = (chunkX, chunkZ) -> {
+        synchronized (chunkQueue) {
+            // Chunk not sent yet
+            if (chunkQueue.rem(ChunkUtils.getChunkIndex(chunkX, chunkZ))) return;
+        }
         // Unload old chunks
         sendPacket(new UnloadChunkPacket(chunkX, chunkZ));
         EventDispatcher.call(new PlayerChunkUnloadEvent(this, chunkX, chunkZ));
@@ -318,6 +328,9 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         // Process received packets
         interpretPacketQueue();
 
+        // Send the closest pending chunks
+        sendChunkQueue();
+
         super.update(time); // Super update (item pickup/fire management)
 
         // Experience orb pickup
@@ -364,6 +377,113 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         EventDispatcher.call(new PlayerTickEvent(this));
     }
 
+    /**
+     * Gets the maximum number of queued chunks sent to the player each tick.
+     *
+     * @return the number of chunks sent per tick
+     */
+    public int getChunksPerTick() {
+        return chunksPerTick;
+    }
+
+    /**
+     * Changes the maximum number of queued chunks sent to the player each tick.
+     * <p>
+     * Defaults to the {@code minestom.chunk-queue.chunks-per-tick} system property, or 16.
+     *
+     * @param chunksPerTick the number of chunks sent per tick
+     */
+    public void setChunksPerTick(int chunksPerTick) {
+        Check.argCondition(chunksPerTick <= 0, "The number of chunks per tick must be positive");
+        this.chunksPerTick = chunksPerTick;
+    }
+
+    /**
+     * Gets the amount of chunk data sent to the player each tick.
+     *
+     * @return the number of bytes sent per tick
+     */
+    public int getChunkBytesPerTick() {
+        return chunkBytesPerTick;
+    }
+
+    /**
+     * Changes the amount of chunk data sent to the player each tick,
+     * no more chunk is sent during the tick once reached.
+     * <p>
+     * Defaults to the {@code minestom.chunk-queue.bytes-per-tick} system property, or 256KiB.
+     *
+     * @param chunkBytesPerTick the number of bytes sent per tick
+     */
+    public void setChunkBytesPerTick(int chunkBytesPerTick) {
+        Check.argCondition(chunkBytesPerTick <= 0, "The number of bytes per tick must be positive");
+        this.chunkBytesPerTick = chunkBytesPerTick;
+    }
+
+    /**
+     * Sends the pending chunks closest to the player, limited by {@link #getChunksPerTick()}
+     * and {@link #getChunkBytesPerTick()}.
+     * <p>
+     * Nothing is sent while the connection has too many bytes waiting to be written,
+     * preventing a slow client from accumulating chunk packets.
+     */
+    private void sendChunkQueue() {
+        final Instance instance = this.instance;
+        if (instance == null) return;
+        if (playerConnection instanceof PlayerSocketConnection socketConnection &&
+                socketConnection.getPendingBytes() > CHUNK_QUEUE_MAX_PENDING_BYTES) {
+            return;
+        }
+        final int chunksPerTick = this.chunksPerTick;
+        final int chunkBytesPerTick = this.chunkBytesPerTick;
+        int bytes = 0;
+        for (int i = 0; i < chunksPerTick && bytes < chunkBytesPerTick; i++) {
+            final long index;
+            synchronized (chunkQueue) {
+                if (chunkQueue.isEmpty()) return;
+                final int centerX = position.chunkX();
+                final int centerZ = position.chunkZ();
+                final long center = ChunkUtils.getChunkIndex(centerX, centerZ);
+                if (!chunkQueueSorted || chunkQueueCenter != center) {
+                    // Farthest first, chunks are taken from the end
+                    this.chunkQueue.unstableSort((first, second) -> Integer.compare(
+                            chunkDistance(second, centerX, centerZ), chunkDistance(first, centerX, centerZ)));
+                    this.chunkQueueCenter = center;
+                    this.chunkQueueSorted = true;
+                }
+                index = chunkQueue.popLong();
+            }
+            // Events must not run while holding the queue lock
+            final int chunkX = ChunkUtils.getChunkCoordX(index);
+            final int chunkZ = ChunkUtils.getChunkCoordZ(index);
+            final Chunk loadedChunk = instance.getChunk(chunkX, chunkZ);
+            if (loadedChunk != null) {
+                // Already loaded chunks are sent immediately and count toward the tick budget
+                bytes += loadedChunk.getChunkDataSize();
+                sendQueuedChunk(loadedChunk);
+            } else {
+                instance.loadOptionalChunk(chunkX, chunkZ).thenAccept(chunk -> {
+                    if (chunk != null) sendQueuedChunk(chunk);
+                });
+            }
+        }
+    }
+
+    private void sendQueuedChunk(Chunk chunk) {
+        try {
+            chunk.sendChunk(this);
+            EventDispatcher.call(new PlayerChunkLoadEvent(this, chunk.getChunkX(), chunk.getChunkZ()));
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
+    private static int chunkDistance(long index, int centerX, int centerZ) {
+        final int x = ChunkUtils.getChunkCoordX(index) - centerX;
+        final int z = ChunkUtils.getChunkCoordZ(index) - centerZ;
+        return x * x + z * z;
+    }
+
     @Override
     public void kill() {
         if (!isDead()) {
@@ -606,6 +726,9 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         super.setInstance(instance, spawnPosition);
 
         if (updateChunks) {
+            synchronized (chunkQueue) {
+                this.chunkQueue.clear(); // Chunks of the previous instance
+            }
             sendPacket(new UpdateViewPositionPacket(spawnPosition.chunkX(), spawnPosition.chunkZ()));
             ChunkUtils.forChunksInRange(spawnPosition, MinecraftServer.getChunkViewDistance(), chunkAdder);
         }
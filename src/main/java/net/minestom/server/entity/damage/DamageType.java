@@ -9,7 +9,6 @@ import net.minestom.server.tag.Tag;
 import net.minestom.server.tag.TagHandler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 
 /**
  * Represents a type of damage, required when calling {@link LivingEntity#damage(DamageType, float)}
@@ -28,8 +27,7 @@ public class DamageType implements TagHandler {
         }
     };
     private final String identifier;
-    private final Object nbtLock = new Object();
-    private final MutableNBTCompound nbt = new MutableNBTCompound();
+    private final TagHandler tagHandler = TagHandler.newHandler();
 
     /**
      * Creates a new damage type.
@@ -128,15 +126,11 @@ public class DamageType implements TagHandler {
 
     @Override
     public <T> @Nullable T getTag(@NotNull Tag<T> tag) {
-        synchronized (nbtLock) {
-            return tag.read(nbt);
-        }
+        return tagHandler.getTag(tag);
     }
 
     @Override
     public <T> void setTag(@NotNull Tag<T> tag, @Nullable T value) {
-        synchronized (nbtLock) {
-            tag.write(nbt, value);
-        }
+        tagHandler.setTag(tag, value);
     }
 }
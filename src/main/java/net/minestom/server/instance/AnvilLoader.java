@@ -1,12 +1,20 @@
 package net.minestom.server.instance;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.*;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.world.DimensionType;
 import net.minestom.server.world.biomes.Biome;
+import net.minestom.server.world.biomes.BiomeManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jglrxavpok.hephaistos.mca.*;
@@ -15,29 +23,28 @@ import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class AnvilLoader implements IChunkLoader {
     private final static Logger LOGGER = LoggerFactory.getLogger(AnvilLoader.class);
     private static final Biome BIOME = Biome.PLAINS;
 
-    private final Map<String, RegionFile> alreadyLoaded = new ConcurrentHashMap<>();
+    // Loaded chunk -> change count when it was loaded or saved
+    // Keyed by chunk as the loader may be shared by multiple instances, guarded by itself
+    private final Map<Chunk, Long> savedChanges = new WeakHashMap<>();
     private final Path path;
     private final Path levelPath;
-    private final Path regionPath;
+    private final RegionStorage regionStorage;
 
     public AnvilLoader(@NotNull Path path) {
         this.path = path;
         this.levelPath = path.resolve("level.dat");
-        this.regionPath = path.resolve("region");
+        this.regionStorage = new RegionStorage(path.resolve("region"));
     }
 
     public AnvilLoader(@NotNull String path) {
@@ -74,14 +81,12 @@ public class AnvilLoader implements IChunkLoader {
     }
 
     private @NotNull CompletableFuture<@Nullable Chunk> loadMCA(Instance instance, int chunkX, int chunkZ) throws IOException, AnvilException {
-        final RegionFile mcaFile = getMCAFile(instance, chunkX, chunkZ);
-        if (mcaFile == null)
-            return CompletableFuture.completedFuture(null);
-        final ChunkColumn fileChunk = mcaFile.getChunk(chunkX, chunkZ);
+        final ChunkColumn fileChunk = regionStorage.readColumn(chunkX, chunkZ,
+                instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY() - 1);
         if (fileChunk == null)
             return CompletableFuture.completedFuture(null);
 
-        Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+        DynamicChunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
         if(fileChunk.getMinY() < instance.getDimensionType().getMinY()) {
             throw new AnvilException(
                     String.format("Trying to load chunk with minY = %d, but instance dimension type (%s) has a minY of %d",
@@ -99,30 +104,25 @@ public class AnvilLoader implements IChunkLoader {
                     ));
         }
 
-        // TODO: Parallelize block, block entities and biome loading
-
-        if (fileChunk.getGenerationStatus().compareTo(ChunkColumn.GenerationStatus.Biomes) > 0) {
-            HashMap<String, Biome> biomeCache = new HashMap<>();
-
-            for (ChunkSection section : fileChunk.getSections().values()) {
-                if (section.getEmpty()) continue;
-                for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
-                    for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
-                        for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
-                            int finalX = fileChunk.getX() * Chunk.CHUNK_SIZE_X + x;
-                            int finalZ = fileChunk.getZ() * Chunk.CHUNK_SIZE_Z + z;
-                            int finalY = section.getY() * Chunk.CHUNK_SECTION_SIZE + y;
-                            String biomeName = section.getBiome(x, y, z);
-                            Biome biome = biomeCache.computeIfAbsent(biomeName, n ->
-                                    Objects.requireNonNullElse(MinecraftServer.getBiomeManager().getByName(NamespaceID.from(n)), BIOME));
-                            chunk.setBiome(finalX, finalY, finalZ, biome);
-                        }
-                    }
-                }
+        // Sections are translated in parallel, block entities need to be applied afterward using the chunk
+        final boolean loadBiomes = fileChunk.getGenerationStatus().compareTo(ChunkColumn.GenerationStatus.Biomes) > 0;
+        final List<ChunkSection> fileSections = new ArrayList<>(fileChunk.getSections().values());
+        final List<Int2ObjectMap<Block>> sectionEntries = fileSections.parallelStream()
+                .map(fileSection -> {
+                    if (fileSection.getEmpty()) return null;
+                    final Section section = chunk.getSection(fileSection.getY());
+                    if (loadBiomes) loadBiomes(section, fileSection);
+                    return loadBlocks(section, fileSection);
+                }).toList();
+        for (Int2ObjectMap<Block> entries : sectionEntries) {
+            if (entries == null) continue;
+            for (Int2ObjectMap.Entry<Block> entry : entries.int2ObjectEntrySet()) {
+                final int index = entry.getIntKey();
+                chunk.setBlock(ChunkUtils.blockIndexToChunkPositionX(index),
+                        ChunkUtils.blockIndexToChunkPositionY(index),
+                        ChunkUtils.blockIndexToChunkPositionZ(index), entry.getValue());
             }
         }
-        // Blocks
-        loadBlocks(chunk, fileChunk);
         loadTileEntities(chunk, fileChunk);
         // Lights
         for (int sectionY = chunk.getMinSection(); sectionY < chunk.getMaxSection(); sectionY++) {
@@ -131,53 +131,64 @@ public class AnvilLoader implements IChunkLoader {
             section.setSkyLight(chunkSection.getSkyLights());
             section.setBlockLight(chunkSection.getBlockLights());
         }
-        mcaFile.forget(fileChunk);
+        chunk.onSectionsLoaded();
+        synchronized (savedChanges) {
+            this.savedChanges.put(chunk, chunk.getChangeCount());
+        }
         return CompletableFuture.completedFuture(chunk);
     }
 
-    private @Nullable RegionFile getMCAFile(Instance instance, int chunkX, int chunkZ) {
-        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-        return alreadyLoaded.computeIfAbsent(RegionFile.Companion.createFileName(regionX, regionZ), n -> {
-            try {
-                final Path regionPath = this.regionPath.resolve(n);
-                if (!Files.exists(regionPath)) {
-                    return null;
-                }
-                return new RegionFile(new RandomAccessFile(regionPath.toFile(), "rw"), regionX, regionZ, instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY()-1);
-            } catch (IOException | AnvilException e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-                return null;
+    private static void loadBiomes(Section section, ChunkSection fileSection) {
+        // Biomes are stored per 4x4x4 cell, names only have to be resolved once per section
+        final BiomeManager biomeManager = MinecraftServer.getBiomeManager();
+        final Object2IntMap<String> biomeIds = new Object2IntOpenHashMap<>();
+        biomeIds.defaultReturnValue(-1);
+        section.biomePalette().setAll((x, y, z) -> {
+            final String biomeName = fileSection.getBiome(x * 4, y * 4, z * 4);
+            int id = biomeIds.getInt(biomeName);
+            if (id == -1) {
+                final Biome biome = biomeManager.getByName(NamespaceID.from(biomeName));
+                id = Objects.requireNonNullElse(biome, BIOME).id();
+                biomeIds.put(biomeName, id);
             }
+            return id;
         });
     }
 
-    private void loadBlocks(Chunk chunk, ChunkColumn fileChunk) {
-        for (var section : fileChunk.getSections().values()) {
-            if (section.getEmpty()) continue;
-            final int yOffset = Chunk.CHUNK_SECTION_SIZE * section.getY();
-            for (int x = 0; x < Chunk.CHUNK_SECTION_SIZE; x++) {
-                for (int z = 0; z < Chunk.CHUNK_SECTION_SIZE; z++) {
-                    for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
-                        try {
-                            final BlockState blockState = section.get(x, y, z);
-                            final String blockName = blockState.getName();
-                            if (blockName.equals("minecraft:air")) continue;
-                            Block block = Objects.requireNonNull(Block.fromNamespaceId(blockName));
-                            // Properties
-                            final Map<String, String> properties = blockState.getProperties();
-                            if (!properties.isEmpty()) block = block.withProperties(properties);
-                            // Handler
-                            final BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
-                            if (handler != null) block = block.withHandler(handler);
-
-                            chunk.setBlock(x, y + yOffset, z, block);
-                        } catch (Exception e) {
-                            MinecraftServer.getExceptionManager().handleException(e);
-                        }
-                    }
-                }
+    /**
+     * Fills the block palette of {@code section}, each distinct block state of the file section is only resolved once.
+     *
+     * @return the blocks which need to be stored in the chunk (handlers and block entities), null if none
+     */
+    private static @Nullable Int2ObjectMap<Block> loadBlocks(Section section, ChunkSection fileSection) {
+        final int yOffset = Chunk.CHUNK_SECTION_SIZE * fileSection.getY();
+        final Map<BlockState, Block> blockCache = new HashMap<>();
+        final Int2ObjectMap<Block> entries = new Int2ObjectOpenHashMap<>(0);
+        section.blockPalette().setAll((x, y, z) -> {
+            final Block block = blockCache.computeIfAbsent(fileSection.get(x, y, z), AnvilLoader::loadBlock);
+            if (block.handler() != null || block.registry().isBlockEntity()) {
+                entries.put(ChunkUtils.getBlockIndex(x, y + yOffset, z), block);
             }
+            return block.stateId();
+        });
+        return !entries.isEmpty() ? entries : null;
+    }
+
+    private static @NotNull Block loadBlock(BlockState blockState) {
+        final String blockName = blockState.getName();
+        if (blockName.equals("minecraft:air")) return Block.AIR;
+        try {
+            Block block = Objects.requireNonNull(Block.fromNamespaceId(blockName));
+            // Properties
+            final Map<String, String> properties = blockState.getProperties();
+            if (!properties.isEmpty()) block = block.withProperties(properties);
+            // Handler
+            final BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
+            if (handler != null) block = block.withHandler(handler);
+            return block;
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return Block.AIR;
         }
     }
 
@@ -226,69 +237,103 @@ public class AnvilLoader implements IChunkLoader {
         return AsyncUtils.VOID_FUTURE;
     }
 
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        // Chunks of a region are written sequentially, regions in parallel
+        Long2ObjectMap<List<Chunk>> regions = new Long2ObjectOpenHashMap<>();
+        for (Chunk chunk : chunks) {
+            if (!hasChanged(chunk)) continue;
+            final long regionIndex = ChunkUtils.getChunkIndex(CoordinatesKt.chunkToRegion(chunk.getChunkX()),
+                    CoordinatesKt.chunkToRegion(chunk.getChunkZ()));
+            regions.computeIfAbsent(regionIndex, i -> new ArrayList<>()).add(chunk);
+        }
+        if (regions.isEmpty()) return AsyncUtils.VOID_FUTURE;
+        CompletableFuture<?>[] futures = new CompletableFuture[regions.size()];
+        int i = 0;
+        for (List<Chunk> regionChunks : regions.values()) {
+            futures[i++] = CompletableFuture.runAsync(() -> {
+                for (Chunk chunk : regionChunks) saveChunk(chunk);
+            });
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
     @Override
     public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
         final int chunkX = chunk.getChunkX();
         final int chunkZ = chunk.getChunkZ();
-        RegionFile mcaFile;
-        synchronized (alreadyLoaded) {
-            mcaFile = getMCAFile(chunk.instance, chunkX, chunkZ);
-            if (mcaFile == null) {
-                final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-                final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-                final String n = RegionFile.Companion.createFileName(regionX, regionZ);
-                File regionFile = new File(regionPath.toFile(), n);
-                try {
-                    if (!regionFile.exists()) {
-                        if (!regionFile.getParentFile().exists()) {
-                            regionFile.getParentFile().mkdirs();
-                        }
-                        regionFile.createNewFile();
-                    }
-                    mcaFile = new RegionFile(new RandomAccessFile(regionFile, "rw"), regionX, regionZ);
-                    alreadyLoaded.put(n, mcaFile);
-                } catch (AnvilException | IOException e) {
-                    LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
-                    MinecraftServer.getExceptionManager().handleException(e);
-                    return AsyncUtils.VOID_FUTURE;
-                }
-            }
-        }
-        ChunkColumn column;
+        // Skip chunks which have not been modified since they got loaded or saved
+        final long changeCount = chunk.getChangeCount();
+        if (!hasChanged(chunk)) return AsyncUtils.VOID_FUTURE;
+        final DimensionType dimensionType = chunk.getInstance().getDimensionType();
         try {
-            column = mcaFile.getOrCreateChunk(chunkX, chunkZ);
+            LOGGER.debug("Attempt saving at {} {}", chunkX, chunkZ);
+            this.regionStorage.writeColumn(chunkX, chunkZ, dimensionType.getMinY(), dimensionType.getMaxY() - 1,
+                    column -> save(chunk, column));
+            synchronized (savedChanges) {
+                // Do not track the chunk again if it got unloaded while saving
+                if (chunk.isLoaded()) this.savedChanges.put(chunk, changeCount);
+            }
         } catch (AnvilException | IOException e) {
             LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
             MinecraftServer.getExceptionManager().handleException(e);
-            return AsyncUtils.VOID_FUTURE;
-        }
-        save(chunk, column);
-        try {
-            LOGGER.debug("Attempt saving at {} {}", chunk.getChunkX(), chunk.getChunkZ());
-            mcaFile.writeColumn(column);
-            mcaFile.forget(column);
-        } catch (IOException e) {
-            LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
-            MinecraftServer.getExceptionManager().handleException(e);
-            return AsyncUtils.VOID_FUTURE;
         }
         return AsyncUtils.VOID_FUTURE;
     }
 
+    private boolean hasChanged(Chunk chunk) {
+        synchronized (savedChanges) {
+            final Long savedChange = savedChanges.get(chunk);
+            return savedChange == null || savedChange != chunk.getChangeCount();
+        }
+    }
+
+    @Override
+    public void unloadChunk(@NotNull Chunk chunk) {
+        synchronized (savedChanges) {
+            this.savedChanges.remove(chunk);
+        }
+    }
+
     private void save(Chunk chunk, ChunkColumn chunkColumn) {
         chunkColumn.changeVersion(SupportedVersion.Companion.getLatest());
         chunkColumn.setYRange(chunk.getMinSection()*16, chunk.getMaxSection()*16-1);
-        List<NBTCompound> tileEntities = new ArrayList<>();
         chunkColumn.setGenerationStatus(ChunkColumn.GenerationStatus.Full);
+        // Palette values are only converted once per chunk
+        final Int2ObjectMap<BlockState> blockStates = new Int2ObjectOpenHashMap<>();
+        final Int2ObjectMap<String> biomeNames = new Int2ObjectOpenHashMap<>();
+        final BiomeManager biomeManager = MinecraftServer.getBiomeManager();
+        final List<Section> sections = chunk.getSections();
+        for (int i = 0; i < sections.size(); i++) {
+            final Section section = sections.get(i);
+            final int yOffset = (chunk.getMinSection() + i) * Chunk.CHUNK_SECTION_SIZE;
+            section.blockPalette().getAll((x, y, z, stateId) -> {
+                BlockState blockState = blockStates.get(stateId);
+                if (blockState == null) {
+                    final Block block = Objects.requireNonNullElse(Block.fromStateId((short) stateId), Block.AIR);
+                    blockState = new BlockState(block.name(), block.properties());
+                    blockStates.put(stateId, blockState);
+                }
+                chunkColumn.setBlockState(x, y + yOffset, z, blockState);
+            });
+            // Biomes are stored per 4x4x4 cell
+            section.biomePalette().getAll((x, y, z, biomeId) -> {
+                String biomeName = biomeNames.get(biomeId);
+                if (biomeName == null) {
+                    final Biome biome = Objects.requireNonNullElse(biomeManager.getById(biomeId), BIOME);
+                    biomeName = biome.name().asString();
+                    biomeNames.put(biomeId, biomeName);
+                }
+                chunkColumn.setBiome(x * 4, y * 4 + yOffset, z * 4, biomeName);
+            });
+        }
+        // Tile entities, only cached blocks can have a handler or nbt
+        List<NBTCompound> tileEntities = new ArrayList<>();
         for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
             for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
                 for (int y = chunkColumn.getMinY(); y < chunkColumn.getMaxY(); y++) {
-                    final Block block = chunk.getBlock(x, y, z);
-                    // Block
-                    chunkColumn.setBlockState(x, y, z, new BlockState(block.name(), block.properties()));
-                    chunkColumn.setBiome(x, y, z, chunk.getBiome(x, y, z).name().asString());
-
-                    // Tile entity
+                    final Block block = chunk.getBlock(x, y, z, Block.Getter.Condition.CACHED);
+                    if (block == null) continue;
                     final BlockHandler handler = block.handler();
                     var originalNBT = block.nbt();
                     if (originalNBT != null || handler != null) {
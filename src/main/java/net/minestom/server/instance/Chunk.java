@@ -7,6 +7,7 @@ import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.pathfinding.PFColumnarSpace;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.tag.TagHandler;
@@ -16,14 +17,11 @@ import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
-// TODO light data & API
-
 /**
  * A chunk is a part of an {@link Instance}, limited by a size of 16x256x16 blocks and subdivided in 16 sections of 16 blocks height.
  * Should contains all the blocks located at those positions and manage their tick updates.
@@ -57,7 +55,7 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
     protected PFColumnarSpace columnarSpace;
 
     // Data
-    private final MutableNBTCompound nbt = new MutableNBTCompound();
+    private final TagHandler tagHandler = TagHandler.newHandler();
 
     public Chunk(@NotNull Instance instance, int chunkX, int chunkZ, boolean shouldGenerate) {
         this.identifier = UUID.randomUUID();
@@ -96,6 +94,32 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
         return getSection(ChunkUtils.getChunkCoordinate(blockY));
     }
 
+    /**
+     * Gets if a section may contain blocks with a {@link BlockHandler#isTouchable() touchable} handler.
+     * <p>
+     * Used to skip the touch detection of entities, implementations unable to know should return true.
+     *
+     * @param section the section Y
+     * @return true if entities in the section may touch a block handler
+     */
+    public boolean hasTouchableBlocks(int section) {
+        return true;
+    }
+
+    /**
+     * Gets the heightmap of a given type, kept up to date on each block change.
+     * <p>
+     * Computed from the sections on each call by default, implementations should keep their own.
+     *
+     * @param type the heightmap type
+     * @return the heightmap of this chunk
+     */
+    public @NotNull Heightmap getHeightmap(@NotNull Heightmap.Type type) {
+        Heightmap heightmap = new Heightmap(this, type);
+        heightmap.refresh();
+        return heightmap;
+    }
+
     /**
      * Executes a chunk tick.
      * <p>
@@ -119,6 +143,21 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
      */
     public abstract long getLastChangeTime();
 
+    /**
+     * Gets the number of changes made to this chunk data.
+     * <p>
+     * Unlike {@link #getLastChangeTime()}, changes happening in the same millisecond
+     * are still distinguished, used to know if the chunk has to be saved again.
+     * <p>
+     * Defaults to {@link #getLastChangeTime()}, implementations should override it
+     * to not miss changes happening in the same millisecond.
+     *
+     * @return the change counter
+     */
+    public long getChangeCount() {
+        return getLastChangeTime();
+    }
+
     /**
      * Sends the chunk data to {@code player}.
      *
@@ -128,9 +167,20 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
 
     public abstract void sendChunk();
 
+    /**
+     * Gets the size of the data sent by {@link #sendChunk(Player)}, used to limit the data sent to players per tick.
+     *
+     * @return the size in bytes, 0 if unknown
+     */
+    public int getChunkDataSize() {
+        return 0;
+    }
+
     /**
      * Creates a copy of this chunk, including blocks state id, custom block id, biomes, update data.
      * <p>
+     * Sections data may be shared between both chunks until modified.
+     * <p>
      * The chunk position (X/Z) can be modified using the given arguments.
      *
      * @param instance the chunk owner
@@ -297,12 +347,12 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
 
     @Override
     public <T> @Nullable T getTag(@NotNull Tag<T> tag) {
-        return tag.read(nbt);
+        return tagHandler.getTag(tag);
     }
 
     @Override
     public <T> void setTag(@NotNull Tag<T> tag, @Nullable T value) {
-        tag.write(nbt, value);
+        tagHandler.setTag(tag, value);
     }
 
     /**
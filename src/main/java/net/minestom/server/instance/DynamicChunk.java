@@ -4,27 +4,33 @@ import com.extollit.gaming.ai.path.model.ColumnarOcclusionFieldList;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.pathfinding.PFBlock;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.block.BlockManager;
+import net.minestom.server.instance.light.LightEngine;
+import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.network.packet.server.CachedPacket;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.network.packet.server.play.UpdateLightPacket;
 import net.minestom.server.network.packet.server.play.data.ChunkData;
 import net.minestom.server.network.packet.server.play.data.LightData;
-import net.minestom.server.utils.MathUtils;
-import net.minestom.server.utils.Utils;
 import net.minestom.server.utils.binary.BinaryWriter;
 import net.minestom.server.utils.binary.PooledBuffers;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jglrxavpok.hephaistos.nbt.NBT;
 import org.jglrxavpok.hephaistos.nbt.NBTCompound;
 
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
 
 import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordinate;
 
@@ -40,41 +46,65 @@ public class DynamicChunk extends Chunk {
     // Key = ChunkUtils#getBlockIndex
     protected final Int2ObjectOpenHashMap<Block> entries = new Int2ObjectOpenHashMap<>(0);
     protected final Int2ObjectOpenHashMap<Block> tickableMap = new Int2ObjectOpenHashMap<>(0);
+    // Number of blocks with a touchable handler per section
+    private int[] touchableCounts;
 
     private long lastChange;
+    private long changeCount;
+    // Serialized sections reused between chunk packets, null entries mark the dirty sections
+    private byte[][] sectionsData;
     private final CachedPacket chunkCache = new CachedPacket(this::createChunkPacket);
     private final CachedPacket lightCache = new CachedPacket(this::createLightPacket);
+    private final LightEngine lightEngine = new LightEngine(this);
+    private Heightmap motionBlocking = new Heightmap(this, Heightmap.Type.MOTION_BLOCKING);
+    private Heightmap worldSurface = new Heightmap(this, Heightmap.Type.WORLD_SURFACE);
 
     public DynamicChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
         super(instance, chunkX, chunkZ, true);
         var sectionsTemp = new Section[maxSection - minSection];
         Arrays.setAll(sectionsTemp, value -> new Section());
         this.sections = List.of(sectionsTemp);
+        this.sectionsData = new byte[sectionsTemp.length][];
+        this.touchableCounts = new int[sectionsTemp.length];
     }
 
     @Override
     public void setBlock(int x, int y, int z, @NotNull Block block) {
         this.lastChange = System.currentTimeMillis();
+        this.changeCount++;
         this.chunkCache.invalidate();
-        this.lightCache.invalidate();
         // Update pathfinder
         if (columnarSpace != null) {
             final ColumnarOcclusionFieldList columnarOcclusionFieldList = columnarSpace.occlusionFields();
             final var blockDescription = PFBlock.get(block);
             columnarOcclusionFieldList.onBlockChanged(x, y, z, blockDescription, 0);
         }
-        Section section = getSectionAt(y);
-        section.blockPalette()
-                .set(toSectionRelativeCoordinate(x), toSectionRelativeCoordinate(y), toSectionRelativeCoordinate(z), block.stateId());
+        final int sectionIndex = ChunkUtils.getChunkCoordinate(y) - minSection;
+        this.sectionsData[sectionIndex] = null;
+        Section section = sections.get(sectionIndex);
+        final int sectionX = toSectionRelativeCoordinate(x);
+        final int sectionY = toSectionRelativeCoordinate(y);
+        final int sectionZ = toSectionRelativeCoordinate(z);
+        final int previousState = section.blockPalette().get(sectionX, sectionY, sectionZ);
+        section.blockPalette().set(sectionX, sectionY, sectionZ, block.stateId());
+        this.motionBlocking.update(x, y, z, block);
+        this.worldSurface.update(x, y, z, block);
+        // Light is updated during the next chunk tick
+        this.lightEngine.onBlockChange(x, y, z, previousState, block.stateId());
 
         final int index = ChunkUtils.getBlockIndex(x, y, z);
         // Handler
         final BlockHandler handler = block.handler();
+        final Block previousEntry;
         if (handler != null || block.hasNbt() || block.registry().isBlockEntity()) {
-            this.entries.put(index, block);
+            previousEntry = this.entries.put(index, block);
         } else {
-            this.entries.remove(index);
+            previousEntry = this.entries.remove(index);
         }
+        // Touch
+        final BlockHandler previousHandler = previousEntry != null ? previousEntry.handler() : null;
+        if (previousHandler != null && previousHandler.isTouchable()) this.touchableCounts[sectionIndex]--;
+        if (handler != null && handler.isTouchable()) this.touchableCounts[sectionIndex]++;
         // Block tick
         if (handler != null && handler.isTickable()) {
             this.tickableMap.put(index, block);
@@ -85,8 +115,12 @@ public class DynamicChunk extends Chunk {
 
     @Override
     public void setBiome(int x, int y, int z, @NotNull Biome biome) {
+        this.lastChange = System.currentTimeMillis();
+        this.changeCount++;
         this.chunkCache.invalidate();
-        Section section = getSectionAt(y);
+        final int sectionIndex = ChunkUtils.getChunkCoordinate(y) - minSection;
+        this.sectionsData[sectionIndex] = null;
+        Section section = sections.get(sectionIndex);
         section.biomePalette().set(
                 toSectionRelativeCoordinate(x) / 4,
                 toSectionRelativeCoordinate(y) / 4,
@@ -103,8 +137,36 @@ public class DynamicChunk extends Chunk {
         return sections.get(section - minSection);
     }
 
+    @Override
+    public boolean hasTouchableBlocks(int section) {
+        final int index = section - minSection;
+        return index >= 0 && index < touchableCounts.length && touchableCounts[index] > 0;
+    }
+
+    @Override
+    public @NotNull Heightmap getHeightmap(@NotNull Heightmap.Type type) {
+        return switch (type) {
+            case MOTION_BLOCKING -> motionBlocking;
+            case WORLD_SURFACE -> worldSurface;
+        };
+    }
+
     @Override
     public void tick(long time) {
+        final BitSet changedLight;
+        // Light arrays may be shared with a copy being created, which locks the chunk
+        synchronized (this) {
+            changedLight = lightEngine.process();
+        }
+        if (changedLight != null) {
+            this.chunkCache.invalidate();
+            this.lightCache.invalidate();
+            if (!getViewers().isEmpty()) {
+                sendPacketToViewers(new UpdateLightPacket(chunkX, chunkZ, createLightData(changedLight)));
+            }
+        }
+        final int randomTickSpeed = instance.getRandomTickSpeed();
+        if (randomTickSpeed > 0) randomTick(randomTickSpeed);
         if (tickableMap.isEmpty()) return;
         tickableMap.int2ObjectEntrySet().fastForEach(entry -> {
             final int index = entry.getIntKey();
@@ -116,6 +178,31 @@ public class DynamicChunk extends Chunk {
         });
     }
 
+    private void randomTick(int randomTickSpeed) {
+        final BlockManager blockManager = MinecraftServer.getBlockManager();
+        if (!blockManager.hasRandomTickHandlers()) return;
+        final IntPredicate randomlyTicking = blockManager::isRandomlyTicking;
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<Section> sections = this.sections;
+        for (int i = 0; i < sections.size(); i++) {
+            final Palette palette = sections.get(i).blockPalette();
+            // Occurrences are tracked by the palette, only distinct states are tested
+            if (palette.count() == 0 || palette.count(randomlyTicking) == 0) continue;
+            final int sectionY = (i + minSection) * CHUNK_SECTION_SIZE;
+            for (int j = 0; j < randomTickSpeed; j++) {
+                final int position = random.nextInt(4096);
+                final int x = position & 0xF, y = position >> 8, z = (position >> 4) & 0xF;
+                final BlockHandler handler = blockManager.getRandomTickHandler(palette.get(x, y, z));
+                if (handler == null) continue;
+                final int blockX = chunkX * CHUNK_SIZE_X + x;
+                final int blockY = sectionY + y;
+                final int blockZ = chunkZ * CHUNK_SIZE_Z + z;
+                final Block block = getBlock(blockX, blockY, blockZ, Condition.NONE);
+                handler.randomTick(new BlockHandler.Tick(block, instance, new Vec(blockX, blockY, blockZ)));
+            }
+        }
+    }
+
     @Override
     public @Nullable Block getBlock(int x, int y, int z, @NotNull Condition condition) {
         if (y < minSection * CHUNK_SECTION_SIZE || y >= maxSection * CHUNK_SECTION_SIZE)
@@ -149,6 +236,11 @@ public class DynamicChunk extends Chunk {
         return lastChange;
     }
 
+    @Override
+    public long getChangeCount() {
+        return changeCount;
+    }
+
     @Override
     public void sendChunk(@NotNull Player player) {
         if (!isLoaded()) return;
@@ -161,52 +253,96 @@ public class DynamicChunk extends Chunk {
         sendPacketToViewers(chunkCache);
     }
 
+    @Override
+    public int getChunkDataSize() {
+        // Framed once and shared with the viewers
+        return chunkCache.body().remaining();
+    }
+
     @Override
     public @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
         DynamicChunk dynamicChunk = new DynamicChunk(instance, chunkX, chunkZ);
         dynamicChunk.sections = sections.stream().map(Section::clone).toList();
         dynamicChunk.entries.putAll(entries);
+        dynamicChunk.touchableCounts = touchableCounts.clone();
+        dynamicChunk.sectionsData = sectionsData.clone();
+        dynamicChunk.motionBlocking = motionBlocking.copy(dynamicChunk);
+        dynamicChunk.worldSurface = worldSurface.copy(dynamicChunk);
         return dynamicChunk;
     }
 
+    /**
+     * Refreshes the data derived from the blocks after the section palettes have been written directly.
+     * <p>
+     * Used by chunk loaders filling whole palettes instead of calling {@link #setBlock(int, int, int, Block)}.
+     */
+    @ApiStatus.Internal
+    public void onSectionsLoaded() {
+        this.lastChange = System.currentTimeMillis();
+        this.changeCount++;
+        this.chunkCache.invalidate();
+        this.lightCache.invalidate();
+        Arrays.fill(sectionsData, null);
+        this.motionBlocking.refresh();
+        this.worldSurface.refresh();
+    }
+
     @Override
     public void reset() {
         for (Section section : sections) section.clear();
+        Arrays.fill(sectionsData, null);
         this.entries.clear();
+        Arrays.fill(touchableCounts, 0);
+        this.motionBlocking.refresh();
+        this.worldSurface.refresh();
+        this.lightEngine.invalidate();
+    }
+
+    /**
+     * Gets the engine computing the light of this chunk.
+     *
+     * @return the light engine
+     */
+    @ApiStatus.Internal
+    public @NotNull LightEngine getLightEngine() {
+        return lightEngine;
     }
 
     private synchronized @NotNull ChunkDataPacket createChunkPacket() {
-        final NBTCompound heightmapsNBT;
-        // TODO: don't hardcode heightmaps
-        // Heightmap
-        {
-            int dimensionHeight = getInstance().getDimensionType().getHeight();
-            int[] motionBlocking = new int[16 * 16];
-            int[] worldSurface = new int[16 * 16];
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    motionBlocking[x + z * 16] = 0;
-                    worldSurface[x + z * 16] = dimensionHeight - 1;
-                }
+        final NBTCompound heightmapsNBT = NBT.Compound(Map.of(
+                "MOTION_BLOCKING", NBT.LongArray(motionBlocking.data().clone()),
+                "WORLD_SURFACE", NBT.LongArray(worldSurface.data().clone())));
+        // Data, only the modified sections are serialized again
+        final BinaryWriter writer = new BinaryWriter(PooledBuffers.tempBuffer());
+        for (int i = 0; i < sectionsData.length; i++) {
+            final byte[] sectionData = sectionsData[i];
+            if (sectionData != null) {
+                writer.writeBytes(sectionData);
+                continue;
             }
-            final int bitsForHeight = MathUtils.bitsToRepresent(dimensionHeight);
-            heightmapsNBT = NBT.Compound(Map.of(
-                    "MOTION_BLOCKING", NBT.LongArray(Utils.encodeBlocks(motionBlocking, bitsForHeight)),
-                    "WORLD_SURFACE", NBT.LongArray(Utils.encodeBlocks(worldSurface, bitsForHeight))));
+            final int start = writer.getBuffer().position();
+            writer.write(sections.get(i));
+            final ByteBuffer buffer = writer.getBuffer();
+            final byte[] data = new byte[buffer.position() - start];
+            buffer.get(start, data);
+            this.sectionsData[i] = data;
         }
-        // Data
-        final BinaryWriter writer = new BinaryWriter(PooledBuffers.tempBuffer());
-        for (Section section : sections) writer.write(section);
         return new ChunkDataPacket(chunkX, chunkZ,
                 new ChunkData(heightmapsNBT, writer.toByteArray(), entries),
-                createLightData());
+                createLightData(null));
     }
 
     private synchronized @NotNull UpdateLightPacket createLightPacket() {
-        return new UpdateLightPacket(chunkX, chunkZ, createLightData());
+        return new UpdateLightPacket(chunkX, chunkZ, createLightData(null));
     }
 
-    private LightData createLightData() {
+    /**
+     * Creates the light data of this chunk.
+     *
+     * @param sectionFilter the sections to include, null to include all of them
+     * @return the light data
+     */
+    private LightData createLightData(@Nullable BitSet sectionFilter) {
         BitSet skyMask = new BitSet();
         BitSet blockMask = new BitSet();
         BitSet emptySkyMask = new BitSet();
@@ -217,6 +353,7 @@ public class DynamicChunk extends Chunk {
         int index = 0;
         for (Section section : sections) {
             index++;
+            if (sectionFilter != null && !sectionFilter.get(index - 1)) continue;
             final byte[] skyLight = section.getSkyLight();
             final byte[] blockLight = section.getBlockLight();
             if (skyLight.length != 0) {
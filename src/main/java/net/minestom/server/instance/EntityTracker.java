@@ -92,6 +92,15 @@ public sealed interface EntityTracker permits EntityTrackerImpl {
     <T extends Entity> void nearbyEntities(@NotNull Point point, double range,
                                            @NotNull Target<T> target, @NotNull Query<T> query);
 
+    /**
+     * Gets the entities whose position is inside a box.
+     * <p>
+     * Does not allocate, the query is free to modify the tracker.
+     */
+    <T extends Entity> void nearbyEntities(double minX, double minY, double minZ,
+                                           double maxX, double maxY, double maxZ,
+                                           @NotNull Target<T> target, @NotNull Query<T> query);
+
     /**
      * Gets all the entities tracked by this class.
      */
@@ -1,5 +1,8 @@
 package net.minestom.server.instance;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.Entity;
@@ -15,6 +18,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -24,23 +28,28 @@ import static net.minestom.server.utils.chunk.ChunkUtils.getChunkIndex;
 final class EntityTrackerImpl implements EntityTracker {
     static final AtomicInteger TARGET_COUNTER = new AtomicInteger();
     private static final Supplier<List<Entity>> LIST_SUPPLIER = CopyOnWriteArrayList::new;
+    // Entity ids collected by the current queries of each thread
+    private static final ThreadLocal<QueryBuffer> QUERY_BUFFER = ThreadLocal.withInitial(QueryBuffer::new);
 
     // Store all data associated to a Target
     // The array index is the Target enum ordinal
     private final TargetEntry<Entity>[] entries = EntityTracker.Target.TARGETS.stream().map((Function<Target<?>, TargetEntry>) TargetEntry::new).toArray(TargetEntry[]::new);
 
     private final Int2ObjectSyncMap<Point> entityPositions = Int2ObjectSyncMap.hashmap();
+    private final Int2ObjectSyncMap<Entity> entityIds = Int2ObjectSyncMap.hashmap();
 
     @Override
     public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
                                             @NotNull Target<T> target, @Nullable Update<T> update) {
         var prevPoint = entityPositions.putIfAbsent(entity.getEntityId(), point);
         if (prevPoint != null) return;
+        this.entityIds.put(entity.getEntityId(), entity);
         final long index = getChunkIndex(point);
         for (TargetEntry<Entity> entry : entries) {
             if (entry.target.type().isInstance(entity)) {
                 entry.entities.add(entity);
                 entry.addToChunk(index, entity);
+                entry.cells.add(entity.getEntityId(), point);
             }
         }
         if (update != null) {
@@ -57,11 +66,13 @@ final class EntityTrackerImpl implements EntityTracker {
                                               @NotNull Target<T> target, @Nullable Update<T> update) {
         final Point point = entityPositions.remove(entity.getEntityId());
         if (point == null) return;
+        this.entityIds.remove(entity.getEntityId());
         final long index = getChunkIndex(point);
         for (TargetEntry<Entity> entry : entries) {
             if (entry.target.type().isInstance(entity)) {
                 entry.entities.remove(entity);
                 entry.removeFromChunk(index, entity);
+                entry.cells.remove(entity.getEntityId(), point);
             }
         }
         if (update != null) {
@@ -74,7 +85,16 @@ final class EntityTrackerImpl implements EntityTracker {
     public <T extends Entity> void move(@NotNull Entity entity, @NotNull Point newPoint,
                                         @NotNull Target<T> target, @Nullable Update<T> update) {
         Point oldPoint = entityPositions.put(entity.getEntityId(), newPoint);
-        if (oldPoint == null || oldPoint.sameChunk(newPoint)) return;
+        if (oldPoint == null) return;
+        final long oldCell = SpatialHash.cellIndex(oldPoint), newCell = SpatialHash.cellIndex(newPoint);
+        if (oldCell != newCell) {
+            for (TargetEntry<Entity> entry : entries) {
+                if (entry.target.type().isInstance(entity)) {
+                    entry.cells.move(entity.getEntityId(), oldCell, newCell);
+                }
+            }
+        }
+        if (oldPoint.sameChunk(newPoint)) return;
         final long oldIndex = getChunkIndex(oldPoint);
         final long newIndex = getChunkIndex(newPoint);
         for (TargetEntry<Entity> entry : entries) {
@@ -153,17 +173,47 @@ final class EntityTrackerImpl implements EntityTracker {
 
     @Override
     public <T extends Entity> void nearbyEntities(@NotNull Point point, double range, @NotNull Target<T> target, @NotNull Query<T> query) {
-        final int chunkRange = Math.abs((int) (range / Chunk.CHUNK_SECTION_SIZE)) + 1;
-        final double squaredRange = range * range;
-        ChunkUtils.forChunksInRange(point, chunkRange, (chunkX, chunkZ) -> {
-            var chunkEntities = chunkEntities(chunkX, chunkZ, target);
-            chunkEntities.forEach(entity -> {
-                final Point position = entityPositions.get(entity.getEntityId());
-                if (point.distanceSquared(position) <= squaredRange) {
-                    query.consume(entity);
+        final double x = point.x(), y = point.y(), z = point.z();
+        query(entries[target.ordinal()], x - range, y - range, z - range, x + range, y + range, z + range,
+                point, range * range, query);
+    }
+
+    @Override
+    public <T extends Entity> void nearbyEntities(double minX, double minY, double minZ,
+                                                  double maxX, double maxY, double maxZ,
+                                                  @NotNull Target<T> target, @NotNull Query<T> query) {
+        query(entries[target.ordinal()], minX, minY, minZ, maxX, maxY, maxZ, null, 0, query);
+    }
+
+    private <T extends Entity> void query(TargetEntry<Entity> entry,
+                                          double minX, double minY, double minZ,
+                                          double maxX, double maxY, double maxZ,
+                                          @Nullable Point center, double squaredRange, Query<T> query) {
+        // Collect the ids first, the query may modify the tracker
+        final QueryBuffer buffer = QUERY_BUFFER.get();
+        final int start = buffer.size;
+        entry.cells.collect(minX, minY, minZ, maxX, maxY, maxZ, buffer);
+        final int end = buffer.size;
+        try {
+            for (int i = start; i < end; i++) {
+                // The array may be replaced by a nested query
+                final int id = buffer.ids[i];
+                final Point position = entityPositions.get(id);
+                if (position == null) continue; // Unregistered
+                if (center != null) {
+                    if (center.distanceSquared(position) > squaredRange) continue;
+                } else if (position.x() < minX || position.x() > maxX ||
+                        position.y() < minY || position.y() > maxY ||
+                        position.z() < minZ || position.z() > maxZ) {
+                    continue;
                 }
-            });
-        });
+                final Entity entity = entityIds.get(id);
+                //noinspection unchecked
+                if (entity != null) query.consume((T) entity);
+            }
+        } finally {
+            buffer.size = start;
+        }
     }
 
     @Override
@@ -180,6 +230,7 @@ final class EntityTrackerImpl implements EntityTracker {
         private final Long2ObjectSyncMap<List<T>> chunkEntities = Long2ObjectSyncMap.hashmap();
         // Chunk index -> lists of visible entities (references to chunkEntities entries)
         private final Int2ObjectSyncMap<Long2ObjectSyncMap<List<List<T>>>> references = Int2ObjectSyncMap.hashmap();
+        private final SpatialHash cells = new SpatialHash();
 
         TargetEntry(Target<T> target) {
             this.target = target;
@@ -194,4 +245,137 @@ final class EntityTrackerImpl implements EntityTracker {
             if (entities != null) entities.remove(entity);
         }
     }
+
+    /**
+     * Entity ids indexed by cells of 4x4x4 blocks.
+     * <p>
+     * Cells are {@code int} arrays containing their size followed by the ids.
+     */
+    private static final class SpatialHash {
+        private static final int CELL_SHIFT = 2;
+        // Cell Y is packed in 12 bits
+        private static final int MAX_SCAN_SPAN = 1 << 12;
+
+        private final Long2ObjectOpenHashMap<int[]> cells = new Long2ObjectOpenHashMap<>();
+        private final StampedLock lock = new StampedLock();
+
+        static long cellIndex(int cellX, int cellY, int cellZ) {
+            return ((long) cellX & 0x3FFFFFF) << 38 | ((long) cellZ & 0x3FFFFFF) << 12 | (cellY & 0xFFF);
+        }
+
+        static long cellIndex(Point point) {
+            return cellIndex(cell(point.x()), cell(point.y()), cell(point.z()));
+        }
+
+        static int cell(double coordinate) {
+            return (int) Math.floor(coordinate) >> CELL_SHIFT;
+        }
+
+        void add(int id, Point point) {
+            final long stamp = lock.writeLock();
+            try {
+                add0(cellIndex(point), id);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void remove(int id, Point point) {
+            final long stamp = lock.writeLock();
+            try {
+                remove0(cellIndex(point), id);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void move(int id, long oldCell, long newCell) {
+            final long stamp = lock.writeLock();
+            try {
+                remove0(oldCell, id);
+                add0(newCell, id);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void collect(double minX, double minY, double minZ,
+                     double maxX, double maxY, double maxZ, QueryBuffer buffer) {
+            final int minCellX = cell(minX), minCellY = cell(minY), minCellZ = cell(minZ);
+            final int maxCellX = cell(maxX), maxCellY = cell(maxY), maxCellZ = cell(maxZ);
+            final long stamp = lock.readLock();
+            try {
+                final long spanX = (long) maxCellX - minCellX + 1;
+                final long spanY = (long) maxCellY - minCellY + 1;
+                final long spanZ = (long) maxCellZ - minCellZ + 1;
+                // Computed in double to avoid overflows with unbounded ranges
+                final double cellCount = (double) spanX * spanY * spanZ;
+                if (spanX > MAX_SCAN_SPAN || spanY > MAX_SCAN_SPAN || spanZ > MAX_SCAN_SPAN ||
+                        cellCount > cells.size()) {
+                    // Large range, cheaper to visit the occupied cells
+                    // Also required once a span exceeds the packed coordinates, which would wrap around
+                    for (Long2ObjectMap.Entry<int[]> entry : Long2ObjectMaps.fastIterable(cells)) {
+                        final long index = entry.getLongKey();
+                        final int cellX = (int) (index >> 38), cellZ = (int) (index << 26 >> 38), cellY = (int) (index << 52 >> 52);
+                        if (cellX < minCellX || cellX > maxCellX || cellY < minCellY || cellY > maxCellY ||
+                                cellZ < minCellZ || cellZ > maxCellZ) continue;
+                        buffer.add(entry.getValue());
+                    }
+                    return;
+                }
+                for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                    for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                            final int[] cell = cells.get(cellIndex(cellX, cellY, cellZ));
+                            if (cell != null) buffer.add(cell);
+                        }
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void add0(long index, int id) {
+            int[] cell = cells.get(index);
+            if (cell == null) {
+                cell = new int[4];
+                this.cells.put(index, cell);
+            } else if (cell[0] + 1 == cell.length) {
+                cell = Arrays.copyOf(cell, cell.length * 2);
+                this.cells.put(index, cell);
+            }
+            cell[++cell[0]] = id;
+        }
+
+        private void remove0(long index, int id) {
+            final int[] cell = cells.get(index);
+            if (cell == null) return;
+            final int size = cell[0];
+            for (int i = 1; i <= size; i++) {
+                if (cell[i] != id) continue;
+                cell[i] = cell[size];
+                if (size == 1) {
+                    this.cells.remove(index);
+                } else {
+                    cell[0] = size - 1;
+                }
+                return;
+            }
+        }
+    }
+
+    private static final class QueryBuffer {
+        private int[] ids = new int[64];
+        private int size;
+
+        void add(int[] cell) {
+            final int length = cell[0];
+            if (size + length > ids.length) {
+                this.ids = Arrays.copyOf(ids, Math.max(ids.length * 2, size + length));
+            }
+            System.arraycopy(cell, 1, ids, size, length);
+            this.size += length;
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.MathUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Tracks the highest block of each column of a {@link Chunk} matching a {@link Type}.
+ * <p>
+ * Heights are stored relative to the chunk bottom in the packed format sent to the client,
+ * 0 meaning that the column does not contain any matching block.
+ * <p>
+ * WARNING: not thread-safe, guarded by the chunk.
+ */
+public final class Heightmap {
+    private final Chunk chunk;
+    private final Type type;
+    private final int minY;
+    private final int bitsPerEntry;
+    private final int valuesPerLong;
+    private final long[] data;
+
+    public Heightmap(@NotNull Chunk chunk, @NotNull Type type) {
+        this.chunk = chunk;
+        this.type = type;
+        this.minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+        final int height = (chunk.getMaxSection() - chunk.getMinSection()) * Chunk.CHUNK_SECTION_SIZE;
+        this.bitsPerEntry = MathUtils.bitsToRepresent(height);
+        this.valuesPerLong = Long.SIZE / bitsPerEntry;
+        final int size = Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z;
+        this.data = new long[(size + valuesPerLong - 1) / valuesPerLong];
+    }
+
+    private Heightmap(@NotNull Chunk chunk, @NotNull Heightmap heightmap) {
+        this.chunk = chunk;
+        this.type = heightmap.type;
+        this.minY = heightmap.minY;
+        this.bitsPerEntry = heightmap.bitsPerEntry;
+        this.valuesPerLong = heightmap.valuesPerLong;
+        this.data = heightmap.data.clone();
+    }
+
+    public @NotNull Type type() {
+        return type;
+    }
+
+    /**
+     * Gets the Y coordinate right above the highest matching block of a column.
+     *
+     * @param x the block X
+     * @param z the block Z
+     * @return the height of the column, the chunk minimum Y if the column does not contain any matching block
+     */
+    public int getHeight(int x, int z) {
+        return minY + get(index(x, z));
+    }
+
+    /**
+     * Gets the heights in the packed format expected by the client.
+     * <p>
+     * The array is updated in place and must not be modified.
+     *
+     * @return the packed heights
+     */
+    public long @NotNull [] data() {
+        return data;
+    }
+
+    /**
+     * Updates the column containing a block which just changed.
+     *
+     * @param x     the block X
+     * @param y     the block Y
+     * @param z     the block Z
+     * @param block the new block
+     */
+    public void update(int x, int y, int z, @NotNull Block block) {
+        final int index = index(x, z);
+        final int height = y - minY + 1;
+        final int current = get(index);
+        if (type.test(block)) {
+            if (height > current) set(index, height);
+        } else if (height == current) {
+            // Highest block removed, search for the next one below
+            set(index, findHeight(chunk.getSections(), x & 0xF, height - 2, z & 0xF));
+        }
+    }
+
+    /**
+     * Recomputes all the columns from the chunk sections.
+     */
+    public void refresh() {
+        final List<Section> sections = chunk.getSections();
+        final int top = sections.size() * Chunk.CHUNK_SECTION_SIZE - 1;
+        for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+            for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                set(index(x, z), findHeight(sections, x, top, z));
+            }
+        }
+    }
+
+    public @NotNull Heightmap copy(@NotNull Chunk chunk) {
+        return new Heightmap(chunk, this);
+    }
+
+    private int findHeight(List<Section> sections, int x, int startY, int z) {
+        for (int sectionIndex = startY >> 4; sectionIndex >= 0; sectionIndex--) {
+            final Palette palette = sections.get(sectionIndex).blockPalette();
+            // Neither type matches air
+            if (palette.count() == 0) continue;
+            final int start = sectionIndex == startY >> 4 ? startY & 0xF : Chunk.CHUNK_SECTION_SIZE - 1;
+            for (int y = start; y >= 0; y--) {
+                final Block block = Block.fromStateId((short) palette.get(x, y, z));
+                if (block != null && type.test(block)) {
+                    return sectionIndex * Chunk.CHUNK_SECTION_SIZE + y + 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private int get(int index) {
+        final int cellIndex = index / valuesPerLong;
+        final int bitIndex = (index - cellIndex * valuesPerLong) * bitsPerEntry;
+        return (int) (data[cellIndex] >>> bitIndex & ((1L << bitsPerEntry) - 1));
+    }
+
+    private void set(int index, int value) {
+        final int cellIndex = index / valuesPerLong;
+        final int bitIndex = (index - cellIndex * valuesPerLong) * bitsPerEntry;
+        final long mask = (1L << bitsPerEntry) - 1;
+        this.data[cellIndex] = data[cellIndex] & ~(mask << bitIndex) | ((long) value & mask) << bitIndex;
+    }
+
+    private static int index(int x, int z) {
+        return (x & 0xF) + (z & 0xF) * Chunk.CHUNK_SIZE_X;
+    }
+
+    public enum Type {
+        /**
+         * Highest block blocking motion or containing a fluid.
+         */
+        MOTION_BLOCKING,
+        /**
+         * Highest non-air block.
+         */
+        WORLD_SURFACE;
+
+        public boolean test(@NotNull Block block) {
+            return switch (this) {
+                case MOTION_BLOCKING -> block.isSolid() || block.isLiquid();
+                case WORLD_SURFACE -> !block.isAir();
+            };
+        }
+    }
+}
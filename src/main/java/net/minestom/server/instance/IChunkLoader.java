@@ -84,6 +84,15 @@ public interface IChunkLoader {
         }
     }
 
+    /**
+     * Called once a {@link Chunk} has been unloaded from its instance,
+     * lets the loader release the data it kept about it.
+     *
+     * @param chunk the unloaded chunk
+     */
+    default void unloadChunk(@NotNull Chunk chunk) {
+    }
+
     /**
      * Does this {@link IChunkLoader} allow for multi-threaded saving of {@link Chunk}?
      *
@@ -15,6 +15,7 @@ import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.instance.InstanceTickEvent;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.network.packet.server.play.BlockActionPacket;
 import net.minestom.server.network.packet.server.play.TimeUpdatePacket;
 import net.minestom.server.tag.Tag;
@@ -32,7 +33,6 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jglrxavpok.hephaistos.nbt.NBTCompound;
-import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 
 import java.time.Duration;
 import java.util.*;
@@ -64,6 +64,7 @@ public abstract class Instance implements Block.Getter, Block.Setter, Tickable,
     // The time of the instance
     private long time;
     private int timeRate = 1;
+    private int randomTickSpeed = 3;
     private Duration timeUpdate = Duration.of(1, TimeUnit.SECOND);
     private long lastTimeUpdate;
 
@@ -76,8 +77,7 @@ public abstract class Instance implements Block.Getter, Block.Setter, Tickable,
     protected UUID uniqueId;
 
     // instance custom data
-    private final Object nbtLock = new Object();
-    private final MutableNBTCompound nbt = new MutableNBTCompound();
+    private final TagHandler tagHandler = TagHandler.newHandler();
 
     private final Scheduler scheduler = Scheduler.newScheduler();
 
@@ -382,6 +382,29 @@ public abstract class Instance implements Block.Getter, Block.Setter, Tickable,
         this.timeRate = timeRate;
     }
 
+    /**
+     * Gets the number of blocks randomly ticked per chunk section each tick, 3 by default.
+     *
+     * @return the random tick speed
+     * @see BlockManager#registerRandomTickHandler(Block, BlockHandler)
+     */
+    public int getRandomTickSpeed() {
+        return randomTickSpeed;
+    }
+
+    /**
+     * Changes the number of blocks randomly ticked per chunk section each tick.
+     * <p>
+     * Can be set to 0 to disable random ticks.
+     *
+     * @param randomTickSpeed the new random tick speed
+     * @throws IllegalArgumentException if {@code randomTickSpeed} is lower than 0
+     */
+    public void setRandomTickSpeed(int randomTickSpeed) {
+        Check.argCondition(randomTickSpeed < 0, "The random tick speed cannot be lower than 0");
+        this.randomTickSpeed = randomTickSpeed;
+    }
+
     /**
      * Gets the rate at which the client is updated with the current instance time
      *
@@ -591,16 +614,12 @@ public abstract class Instance implements Block.Getter, Block.Setter, Tickable,
 
     @Override
     public <T> @Nullable T getTag(@NotNull Tag<T> tag) {
-        synchronized (nbtLock) {
-            return tag.read(nbt);
-        }
+        return tagHandler.getTag(tag);
     }
 
     @Override
     public <T> void setTag(@NotNull Tag<T> tag, @Nullable T value) {
-        synchronized (nbtLock) {
-            tag.write(nbt, value);
-        }
+        tagHandler.setTag(tag, value);
     }
 
     @Override
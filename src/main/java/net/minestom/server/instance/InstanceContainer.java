@@ -1,7 +1,13 @@
 package net.minestom.server.instance;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
@@ -18,6 +24,7 @@ import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
 import net.minestom.server.network.packet.server.play.EffectPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
 import net.minestom.server.network.packet.server.play.UnloadChunkPacket;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.async.AsyncUtils;
@@ -35,14 +42,17 @@ import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * InstanceContainer is an instance that contains chunks in contrary to SharedInstance.
  */
 public class InstanceContainer extends Instance {
+    private static final int DEFAULT_CHUNK_RESEND_THRESHOLD = Integer.getInteger("minestom.chunk-resend-threshold", 4096);
+    private static final int BLOCK_LOCK_STRIPES = Integer.getInteger("minestom.block-lock-stripes", 64);
+    private static final ThreadLocal<BlockLockContext> BLOCK_LOCK_CONTEXT = ThreadLocal.withInitial(BlockLockContext::new);
 
     // the shared instances assigned to this instance
     private final List<SharedInstance> sharedInstances = new CopyOnWriteArrayList<>();
@@ -54,8 +64,8 @@ public class InstanceContainer extends Instance {
     private final Long2ObjectSyncMap<Chunk> chunks = Long2ObjectSyncMap.hashmap();
     private final Long2ObjectMap<CompletableFuture<Chunk>> loadingChunks = new Long2ObjectOpenHashMap<>();
 
-    private final Lock changingBlockLock = new ReentrantLock();
-    private final Map<Point, Block> currentlyChangingBlocks = new HashMap<>();
+    // Locks used when changing blocks, chunks are spread across them based on their index
+    private final BlockLock[] blockLocks = new BlockLock[BLOCK_LOCK_STRIPES];
 
     // the chunk loader, used when trying to load/save a chunk from another source
     private IChunkLoader chunkLoader;
@@ -63,6 +73,12 @@ public class InstanceContainer extends Instance {
     // used to automatically enable the chunk loading or not
     private boolean autoChunkLoad = true;
 
+    // used to send the block changes once per tick instead of individually
+    private volatile boolean blockChangeBatching;
+    private volatile int chunkResendThreshold = DEFAULT_CHUNK_RESEND_THRESHOLD;
+    // (chunk index -> block changes) map, flushed at the end of each tick
+    private final Long2ObjectMap<BlockChangeBatch> pendingBlockChanges = new Long2ObjectOpenHashMap<>();
+
     // used to supply a new chunk object at a position when requested
     private ChunkSupplier chunkSupplier;
 
@@ -73,6 +89,7 @@ public class InstanceContainer extends Instance {
     @ApiStatus.Experimental
     public InstanceContainer(@NotNull UUID uniqueId, @NotNull DimensionType dimensionType, @Nullable IChunkLoader loader) {
         super(uniqueId, dimensionType);
+        Arrays.setAll(blockLocks, i -> new BlockLock());
         setChunkSupplier(DynamicChunk::new);
         setChunkLoader(Objects.requireNonNullElseGet(loader, () -> new AnvilLoader("world")));
         this.chunkLoader.loadInstance(this);
@@ -82,6 +99,14 @@ public class InstanceContainer extends Instance {
         this(uniqueId, dimensionType, null);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Changes are normally visible once this method returns. When called during another block change
+     * (e.g. from {@link BlockHandler#onPlace(BlockHandler.Placement)} or a placement rule) on a chunk
+     * whose {@link BlockLock} is held by another thread, the change is deferred until the outermost change
+     * of the current thread completes, meanwhile the previous block is still returned by {@link #getBlock(Point)}.
+     */
     @Override
     public void setBlock(int x, int y, int z, @NotNull Block block) {
         final Chunk chunk = getChunkAt(x, z);
@@ -99,7 +124,11 @@ public class InstanceContainer extends Instance {
     /**
      * Sets a block at the specified position.
      * <p>
-     * Unsafe because the method is not synchronized and it does not verify if the chunk is loaded or not.
+     * Unsafe because the method does not verify if the chunk is loaded or not,
+     * the change is ignored if the chunk gets unloaded before it is applied.
+     * <p>
+     * Changes in chunks sharing the same {@link BlockLock} are serialized, others run in parallel.
+     * See {@link #blockLocked(Chunk, Consumer)} for nested changes.
      *
      * @param chunk the {@link Chunk} which should be loaded
      * @param x     the block X
@@ -107,58 +136,98 @@ public class InstanceContainer extends Instance {
      * @param z     the block Z
      * @param block the block to place
      */
-    private synchronized void UNSAFE_setBlock(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block,
-                                              @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy) {
+    private void UNSAFE_setBlock(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block,
+                                 @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy) {
         if (chunk.isReadOnly()) return;
-        synchronized (chunk) {
-            // Refresh the last block change time
-            this.lastBlockChangeTime = System.currentTimeMillis();
-            final Vec blockPosition = new Vec(x, y, z);
-            if (isAlreadyChanged(blockPosition, block)) { // do NOT change the block again.
-                // Avoids StackOverflowExceptions when onDestroy tries to destroy the block itself
-                // This can happen with nether portals which break the entire frame when a portal block is broken
-                return;
+        blockLocked(chunk, lock -> {
+            // The chunk may have been unloaded while waiting for the lock
+            if (!chunk.isLoaded()) return;
+            synchronized (chunk) {
+                setBlock0(lock, chunk, x, y, z, block, placement, destroy);
             }
-            this.currentlyChangingBlocks.put(blockPosition, block);
+        });
+    }
 
-            final Block previousBlock = chunk.getBlock(blockPosition);
-            final BlockHandler previousHandler = previousBlock.handler();
+    /**
+     * Runs {@code action} while holding the {@link BlockLock} of {@code chunk}.
+     * <p>
+     * A thread already holding a block lock never waits for another one as it could deadlock,
+     * the action is instead run once the outermost one completes.
+     */
+    private void blockLocked(Chunk chunk, Consumer<BlockLock> action) {
+        final BlockLock lock = blockLock(chunk);
+        final BlockLockContext context = BLOCK_LOCK_CONTEXT.get();
+        if (context.depth == 0) {
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            context.deferred.add(() -> blockLocked(chunk, action));
+            return;
+        }
+        context.depth++;
+        try {
+            action.accept(lock);
+        } finally {
+            context.depth--;
+            lock.unlock();
+        }
+        if (context.depth == 0) {
+            Runnable deferred;
+            while ((deferred = context.deferred.poll()) != null) deferred.run();
+        }
+    }
 
-            // Change id based on neighbors
-            final BlockPlacementRule blockPlacementRule = MinecraftServer.getBlockManager().getBlockPlacementRule(block);
-            if (blockPlacementRule != null) {
-                block = blockPlacementRule.blockUpdate(this, blockPosition, block);
-            }
+    private void setBlock0(BlockLock lock, Chunk chunk, int x, int y, int z, Block block,
+                           BlockHandler.Placement placement, BlockHandler.Destroy destroy) {
+        // Refresh the last block change time
+        this.lastBlockChangeTime = System.currentTimeMillis();
+        final long blockIndex = blockIndex(x, y, z);
+        if (lock.changingBlocks.get(blockIndex) == block.id()) { // do NOT change the block again.
+            // Avoids StackOverflowExceptions when onDestroy tries to destroy the block itself
+            // This can happen with nether portals which break the entire frame when a portal block is broken
+            return;
+        }
+        lock.changingBlocks.put(blockIndex, block.id());
+        final Vec blockPosition = new Vec(x, y, z);
 
-            // Set the block
-            chunk.setBlock(x, y, z, block);
+        final Block previousBlock = chunk.getBlock(blockPosition);
+        final BlockHandler previousHandler = previousBlock.handler();
 
-            // Refresh neighbors since a new block has been placed
-            executeNeighboursBlockPlacementRule(blockPosition);
+        // Change id based on neighbors
+        final BlockPlacementRule blockPlacementRule = MinecraftServer.getBlockManager().getBlockPlacementRule(block);
+        if (blockPlacementRule != null) {
+            block = blockPlacementRule.blockUpdate(this, blockPosition, block);
+        }
 
-            // Refresh player chunk block
-            {
-                chunk.sendPacketToViewers(new BlockChangePacket(blockPosition, block.stateId()));
-                var registry = block.registry();
-                if (registry.isBlockEntity()) {
-                    final NBTCompound data = BlockUtils.extractClientNbt(block);
-                    chunk.sendPacketToViewers(new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data));
-                }
-            }
+        // Set the block
+        chunk.setBlock(x, y, z, block);
 
-            if (previousHandler != null) {
-                // Previous destroy
-                previousHandler.onDestroy(Objects.requireNonNullElseGet(destroy,
-                        () -> new BlockHandler.Destroy(previousBlock, this, blockPosition)));
-            }
-            final BlockHandler handler = block.handler();
-            if (handler != null) {
-                // New placement
-                final Block finalBlock = block;
-                handler.onPlace(Objects.requireNonNullElseGet(placement,
-                        () -> new BlockHandler.Placement(finalBlock, this, blockPosition)));
+        // Refresh neighbors since a new block has been placed
+        executeNeighboursBlockPlacementRule(blockPosition);
+
+        // Refresh player chunk block
+        if (blockChangeBatching) {
+            queueBlockChange(chunk, blockPosition, block);
+        } else {
+            chunk.sendPacketToViewers(new BlockChangePacket(blockPosition, block.stateId()));
+            var registry = block.registry();
+            if (registry.isBlockEntity()) {
+                final NBTCompound data = BlockUtils.extractClientNbt(block);
+                chunk.sendPacketToViewers(new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data));
             }
         }
+
+        if (previousHandler != null) {
+            // Previous destroy
+            previousHandler.onDestroy(Objects.requireNonNullElseGet(destroy,
+                    () -> new BlockHandler.Destroy(previousBlock, this, blockPosition)));
+        }
+        final BlockHandler handler = block.handler();
+        if (handler != null) {
+            // New placement
+            final Block finalBlock = block;
+            handler.onPlace(Objects.requireNonNullElseGet(placement,
+                    () -> new BlockHandler.Placement(finalBlock, this, blockPosition)));
+        }
     }
 
     @Override
@@ -215,8 +284,14 @@ public class InstanceContainer extends Instance {
     }
 
     @Override
-    public synchronized void unloadChunk(@NotNull Chunk chunk) {
+    public void unloadChunk(@NotNull Chunk chunk) {
         if (!ChunkUtils.isLoaded(chunk)) return;
+        // Serialized with the block changes of the chunk
+        blockLocked(chunk, lock -> unloadChunk0(chunk));
+    }
+
+    private void unloadChunk0(Chunk chunk) {
+        if (!chunk.isLoaded()) return;
         final int chunkX = chunk.getChunkX();
         final int chunkZ = chunk.getChunkZ();
         final long index = ChunkUtils.getChunkIndex(chunkX, chunkZ);
@@ -232,6 +307,7 @@ public class InstanceContainer extends Instance {
         // Clear cache
         this.chunks.remove(index);
         chunk.unload();
+        this.chunkLoader.unloadChunk(chunk);
         var dispatcher = MinecraftServer.process().dispatcher();
         dispatcher.deletePartition(chunk);
     }
@@ -317,6 +393,92 @@ public class InstanceContainer extends Instance {
         return point.y() < getDimensionType().getMinY() - 64;
     }
 
+    /**
+     * Enables or disables the batching of block changes.
+     * <p>
+     * When enabled, block changes are buffered per section and sent to the chunk viewers at the end of the tick
+     * as a single {@link MultiBlockChangePacket} per section,
+     * or as a full chunk once a chunk gets more changes than {@link #getChunkResendThreshold()}.
+     *
+     * @param enable true to batch block changes, false to send them individually
+     */
+    public void enableBlockChangeBatching(boolean enable) {
+        this.blockChangeBatching = enable;
+        if (!enable) flushBlockChanges();
+    }
+
+    /**
+     * Gets if block changes are sent once per tick.
+     *
+     * @return true if block changes are batched
+     * @see #enableBlockChangeBatching(boolean)
+     */
+    public boolean hasEnabledBlockChangeBatching() {
+        return blockChangeBatching;
+    }
+
+    /**
+     * Gets the number of block changes in a single chunk and tick above which the whole chunk is sent again.
+     *
+     * @return the chunk resend threshold
+     */
+    public int getChunkResendThreshold() {
+        return chunkResendThreshold;
+    }
+
+    /**
+     * Changes the number of block changes in a single chunk and tick above which the whole chunk is sent again,
+     * only used when block changes are batched.
+     *
+     * @param chunkResendThreshold the new chunk resend threshold
+     */
+    public void setChunkResendThreshold(int chunkResendThreshold) {
+        Check.argCondition(chunkResendThreshold <= 0, "The chunk resend threshold must be positive");
+        this.chunkResendThreshold = chunkResendThreshold;
+    }
+
+    /**
+     * Sends the block changes batched since the last call.
+     * <p>
+     * Called at the end of each tick when {@link #enableBlockChangeBatching(boolean) batching} is enabled.
+     */
+    @ApiStatus.Internal
+    public void flushBlockChanges() {
+        final BlockChangeBatch[] batches;
+        synchronized (pendingBlockChanges) {
+            if (pendingBlockChanges.isEmpty()) return;
+            batches = pendingBlockChanges.values().toArray(BlockChangeBatch[]::new);
+            this.pendingBlockChanges.clear();
+        }
+        final int threshold = this.chunkResendThreshold;
+        for (BlockChangeBatch batch : batches) {
+            final Chunk chunk = batch.chunk;
+            if (!chunk.isLoaded()) continue;
+            if (batch.count > threshold) {
+                chunk.sendChunk();
+                continue;
+            }
+            for (Int2ObjectMap.Entry<LongArrayList> entry : batch.sections.int2ObjectEntrySet()) {
+                final LongArrayList blocks = entry.getValue();
+                if (blocks.size() == 1) {
+                    final long block = blocks.getLong(0);
+                    final Vec blockPosition = new Vec(
+                            chunk.getChunkX() * Chunk.CHUNK_SIZE_X + (int) (block >> 8 & 0xF),
+                            entry.getIntKey() * Chunk.CHUNK_SECTION_SIZE + (int) (block & 0xF),
+                            chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z + (int) (block >> 4 & 0xF));
+                    chunk.sendPacketToViewers(new BlockChangePacket(blockPosition, (int) (block >> 12)));
+                } else {
+                    chunk.sendPacketToViewers(new MultiBlockChangePacket(chunk.getChunkX(), entry.getIntKey(), chunk.getChunkZ(),
+                            false, blocks.toLongArray()));
+                }
+            }
+            // Must be sent after the block itself
+            for (BlockEntityDataPacket packet : batch.blockEntities) {
+                chunk.sendPacketToViewers(packet);
+            }
+        }
+    }
+
     /**
      * Changes which type of {@link Chunk} implementation to use once one needs to be loaded.
      * <p>
@@ -376,7 +538,7 @@ public class InstanceContainer extends Instance {
     /**
      * Copies all the chunks of this instance and create a new instance container with all of them.
      * <p>
-     * Chunks are copied with {@link Chunk#copy(Instance, int, int)},
+     * Chunks are copied with {@link Chunk#copy(Instance, int, int)} and share their sections content until modified,
      * {@link UUID} is randomized and {@link DimensionType} is passed over.
      *
      * @return an {@link InstanceContainer} with the exact same chunks as 'this'
@@ -389,7 +551,10 @@ public class InstanceContainer extends Instance {
         for (Chunk chunk : chunks.values()) {
             final int chunkX = chunk.getChunkX();
             final int chunkZ = chunk.getChunkZ();
-            final Chunk copiedChunk = chunk.copy(copiedInstance, chunkX, chunkZ);
+            final Chunk copiedChunk;
+            synchronized (chunk) {
+                copiedChunk = chunk.copy(copiedInstance, chunkX, chunkZ);
+            }
             copiedInstance.cacheChunk(copiedChunk);
         }
         return copiedInstance;
@@ -467,24 +632,24 @@ public class InstanceContainer extends Instance {
     public void tick(long time) {
         // Time/world border
         super.tick(time);
-        // Clear block change map
-        Lock wrlock = this.changingBlockLock;
-        wrlock.lock();
-        this.currentlyChangingBlocks.clear();
-        wrlock.unlock();
+        // Clear block change maps
+        for (BlockLock lock : blockLocks) {
+            lock.lock();
+            try {
+                lock.changingBlocks.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
-    /**
-     * Has this block already changed since last update?
-     * Prevents StackOverflow with blocks trying to modify their position in onDestroy or onPlace.
-     *
-     * @param blockPosition the block position
-     * @param block         the block
-     * @return true if the block changed since the last update
-     */
-    private boolean isAlreadyChanged(@NotNull Point blockPosition, @NotNull Block block) {
-        final Block changedBlock = currentlyChangingBlocks.get(blockPosition);
-        return changedBlock != null && changedBlock.id() == block.id();
+    private BlockLock blockLock(Chunk chunk) {
+        final long index = ChunkUtils.getChunkIndex(chunk.getChunkX(), chunk.getChunkZ());
+        return blockLocks[Math.floorMod(HashCommon.mix(index), blockLocks.length)];
+    }
+
+    private static long blockIndex(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | (y & 0xFFF);
     }
 
     /**
@@ -523,6 +688,25 @@ public class InstanceContainer extends Instance {
         }
     }
 
+    private void queueBlockChange(@NotNull Chunk chunk, @NotNull Point blockPosition, @NotNull Block block) {
+        final int x = blockPosition.blockX(), y = blockPosition.blockY(), z = blockPosition.blockZ();
+        final long blockEntry = (long) block.stateId() << 12 |
+                ChunkUtils.toSectionRelativeCoordinate(x) << 8 |
+                ChunkUtils.toSectionRelativeCoordinate(z) << 4 |
+                ChunkUtils.toSectionRelativeCoordinate(y);
+        synchronized (pendingBlockChanges) {
+            BlockChangeBatch batch = pendingBlockChanges.computeIfAbsent(ChunkUtils.getChunkIndex(chunk),
+                    index -> new BlockChangeBatch(chunk));
+            batch.sections.computeIfAbsent(ChunkUtils.getChunkCoordinate(y), section -> new LongArrayList()).add(blockEntry);
+            batch.count++;
+            var registry = block.registry();
+            if (registry.isBlockEntity()) {
+                final NBTCompound data = BlockUtils.extractClientNbt(block);
+                batch.blockEntities.add(new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data));
+            }
+        }
+    }
+
     private CompletableFuture<Chunk> loadOrRetrieve(int chunkX, int chunkZ, Supplier<CompletableFuture<Chunk>> supplier) {
         final Chunk chunk = getChunk(chunkX, chunkZ);
         if (chunk != null) {
@@ -538,4 +722,30 @@ public class InstanceContainer extends Instance {
         var dispatcher = MinecraftServer.process().dispatcher();
         dispatcher.createPartition(chunk);
     }
+
+    private static final class BlockLock extends ReentrantLock {
+        // (block index -> block id) map of the blocks changed during the tick, prevents recursive changes
+        private final Long2IntMap changingBlocks = new Long2IntOpenHashMap();
+
+        {
+            changingBlocks.defaultReturnValue(-1);
+        }
+    }
+
+    private static final class BlockLockContext {
+        private int depth; // Number of block changes in progress in the thread
+        private final Queue<Runnable> deferred = new ArrayDeque<>();
+    }
+
+    private static final class BlockChangeBatch {
+        private final Chunk chunk;
+        // Section Y -> encoded block changes
+        private final Int2ObjectMap<LongArrayList> sections = new Int2ObjectOpenHashMap<>();
+        private final List<BlockEntityDataPacket> blockEntities = new ArrayList<>();
+        private int count;
+
+        private BlockChangeBatch(Chunk chunk) {
+            this.chunk = chunk;
+        }
+    }
 }
\ No newline at end of file
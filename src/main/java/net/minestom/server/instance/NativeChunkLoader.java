@@ -0,0 +1,252 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.block.BlockManager;
+import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.binary.BinaryWriter;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@link IChunkLoader} storing all the chunks of an instance in a single compressed file.
+ * <p>
+ * Sections are stored as written by {@link Section#write(BinaryWriter)}, loading a chunk copies the palettes
+ * in bulk instead of translating every block. Blocks with a handler or nbt are stored separately.
+ * <p>
+ * The file is only read once, a single loader can be given to multiple instances to load the same world
+ * several times (e.g. minigame arenas). {@link #saveChunk(Chunk)} only keeps the chunk in memory,
+ * the whole file is rewritten by {@link #saveChunks(Collection)} and {@link #saveInstance(Instance)}.
+ */
+public final class NativeChunkLoader implements IChunkLoader {
+    private static final int MAGIC = 0x4D4E4348; // MNCH
+    private static final byte VERSION = 1;
+
+    private final Path path;
+    // Chunk index -> serialized chunk
+    private final Long2ObjectMap<byte[]> chunks = new Long2ObjectOpenHashMap<>();
+    private boolean loaded;
+    // Whether chunks have been saved since the file was last written
+    private boolean dirty;
+
+    public NativeChunkLoader(@NotNull Path path) {
+        this.path = path;
+    }
+
+    public NativeChunkLoader(@NotNull String path) {
+        this(Path.of(path));
+    }
+
+    @Override
+    public void loadInstance(@NotNull Instance instance) {
+        ensureLoaded();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        final byte[] data;
+        synchronized (this) {
+            ensureLoaded();
+            data = chunks.get(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        }
+        if (data == null) return CompletableFuture.completedFuture(null);
+        try {
+            return CompletableFuture.completedFuture(readChunk(instance, chunkX, chunkZ, data));
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveInstance(@NotNull Instance instance) {
+        synchronized (this) {
+            if (dirty) flush();
+        }
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    /**
+     * Serializes a chunk, written to the file on the next {@link #saveChunks(Collection)}
+     * or {@link #saveInstance(Instance)} call.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        final byte[] serialized = writeChunk(chunk);
+        synchronized (this) {
+            ensureLoaded();
+            this.chunks.put(ChunkUtils.getChunkIndex(chunk.getChunkX(), chunk.getChunkZ()), serialized);
+            this.dirty = true;
+        }
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        final Long2ObjectMap<byte[]> serialized = new Long2ObjectOpenHashMap<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            serialized.put(ChunkUtils.getChunkIndex(chunk.getChunkX(), chunk.getChunkZ()), writeChunk(chunk));
+        }
+        synchronized (this) {
+            ensureLoaded();
+            this.chunks.putAll(serialized);
+            flush();
+        }
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return true;
+    }
+
+    private static @NotNull Chunk readChunk(Instance instance, int chunkX, int chunkZ, byte[] data) {
+        BinaryReader reader = new BinaryReader(data);
+        DynamicChunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+        final int minSection = reader.readVarInt();
+        final int sectionCount = reader.readVarInt();
+        if (minSection != chunk.getMinSection() || minSection + sectionCount != chunk.getMaxSection()) {
+            throw new IllegalStateException("Chunk " + chunkX + ", " + chunkZ +
+                    " does not match the sections of the instance dimension type");
+        }
+        for (int i = 0; i < sectionCount; i++) {
+            final Section section = chunk.getSection(minSection + i);
+            section.read(reader);
+            section.setSkyLight(reader.readByteArray());
+            section.setBlockLight(reader.readByteArray());
+        }
+        // Blocks with a handler or nbt
+        final BlockManager blockManager = MinecraftServer.getBlockManager();
+        final int entryCount = reader.readVarInt();
+        for (int i = 0; i < entryCount; i++) {
+            final int index = reader.readVarInt();
+            final int x = ChunkUtils.blockIndexToChunkPositionX(index);
+            final int y = ChunkUtils.blockIndexToChunkPositionY(index);
+            final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
+            Block block = chunk.getBlock(x, y, z);
+            if (reader.readBoolean()) block = block.withHandler(blockManager.getHandlerOrDummy(reader.readSizedString()));
+            if (reader.readBoolean()) block = block.withNbt((NBTCompound) reader.readTag());
+            chunk.setBlock(x, y, z, block);
+        }
+        chunk.onSectionsLoaded();
+        return chunk;
+    }
+
+    private static byte[] writeChunk(Chunk chunk) {
+        BinaryWriter writer = new BinaryWriter();
+        synchronized (chunk) {
+            final List<Section> sections = chunk.getSections();
+            writer.writeVarInt(chunk.getMinSection());
+            writer.writeVarInt(sections.size());
+            for (Section section : sections) {
+                writer.write(section);
+                writer.writeByteArray(section.getSkyLight());
+                writer.writeByteArray(section.getBlockLight());
+            }
+            final Int2ObjectMap<Block> entries = blockEntries(chunk);
+            writer.writeVarInt(entries.size());
+            for (Int2ObjectMap.Entry<Block> entry : entries.int2ObjectEntrySet()) {
+                final Block block = entry.getValue();
+                final BlockHandler handler = block.handler();
+                final NBTCompound nbt = block.nbt();
+                writer.writeVarInt(entry.getIntKey());
+                writer.writeBoolean(handler != null);
+                if (handler != null) writer.writeSizedString(handler.getNamespaceId().asString());
+                writer.writeBoolean(nbt != null);
+                if (nbt != null) writer.writeNBT("", nbt);
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    private static Int2ObjectMap<Block> blockEntries(Chunk chunk) {
+        Int2ObjectMap<Block> entries = new Int2ObjectOpenHashMap<>();
+        if (chunk instanceof DynamicChunk dynamicChunk) {
+            for (Int2ObjectMap.Entry<Block> entry : dynamicChunk.entries.int2ObjectEntrySet()) {
+                final Block block = entry.getValue();
+                if (block.handler() != null || block.nbt() != null) entries.put(entry.getIntKey(), block);
+            }
+            return entries;
+        }
+        final int minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+        final int maxY = chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE;
+        for (int y = minY; y < maxY; y++) {
+            for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                    final Block block = chunk.getBlock(x, y, z, Block.Getter.Condition.CACHED);
+                    if (block != null && (block.handler() != null || block.nbt() != null)) {
+                        entries.put(ChunkUtils.getBlockIndex(x, y, z), block);
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    private synchronized void ensureLoaded() {
+        if (loaded) return;
+        this.loaded = true;
+        if (!Files.exists(path)) return;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC) throw new IOException("Invalid chunk file: " + path);
+            final byte version = input.readByte();
+            if (version != VERSION) throw new IOException("Unsupported chunk file version: " + version);
+            BinaryReader reader = new BinaryReader(new InflaterInputStream(input).readAllBytes());
+            final int count = reader.readVarInt();
+            for (int i = 0; i < count; i++) {
+                final long index = reader.readLong();
+                this.chunks.put(index, reader.readByteArray());
+            }
+        } catch (IOException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
+    private void flush() {
+        try {
+            writeFile();
+            this.dirty = false;
+        } catch (IOException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
+    private void writeFile() throws IOException {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeVarInt(chunks.size());
+        for (Long2ObjectMap.Entry<byte[]> entry : chunks.long2ObjectEntrySet()) {
+            writer.writeLong(entry.getLongKey());
+            writer.writeByteArray(entry.getValue());
+        }
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        // Write to a temporary file first, the previous content is kept if the server stops while saving
+        final Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+            DeflaterOutputStream deflater = new DeflaterOutputStream(output);
+            deflater.write(writer.toByteArray());
+            deflater.finish();
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
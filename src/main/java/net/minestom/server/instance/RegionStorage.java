@@ -0,0 +1,331 @@
+package net.minestom.server.instance;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.mca.AnvilException;
+import org.jglrxavpok.hephaistos.mca.ChunkColumn;
+import org.jglrxavpok.hephaistos.mca.CoordinatesKt;
+import org.jglrxavpok.hephaistos.mca.RegionFile;
+import org.jglrxavpok.hephaistos.nbt.CompressedProcesser;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.jglrxavpok.hephaistos.nbt.NBTException;
+import org.jglrxavpok.hephaistos.nbt.NBTReader;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Region files of an anvil world, at most {@link #MAX_OPEN_REGIONS} are kept open and the least recently used ones are closed.
+ * <p>
+ * Chunks are read from a read-only memory mapping of the region file, without any shared file position
+ * so that chunks of the same region can be read concurrently. Writes go through hephaistos {@link RegionFile}
+ * while holding the region exclusively, and invalidate the mapping.
+ */
+final class RegionStorage {
+    static final int MAX_OPEN_REGIONS = Integer.getInteger("minestom.anvil.max-open-regions", 64);
+
+    private static final int SECTOR_SIZE = 4096;
+    private static final int HEADER_SIZE = 2 * SECTOR_SIZE;
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int COMPRESSION_ZLIB = 2;
+    private static final int COMPRESSION_NONE = 3;
+    private static final int COMPRESSION_EXTERNAL = 128;
+
+    private final Path folder;
+    private final int maxOpenRegions;
+    // Access ordered, the first entry is the least recently used region
+    private final LinkedHashMap<Long, Region> regions = new LinkedHashMap<>(16, 0.75f, true);
+    // Regions in the map being closed, guarded by the map lock
+    private int closingCount;
+
+    RegionStorage(@NotNull Path folder, int maxOpenRegions) {
+        this.folder = folder;
+        this.maxOpenRegions = Math.max(1, maxOpenRegions);
+    }
+
+    RegionStorage(@NotNull Path folder) {
+        this(folder, MAX_OPEN_REGIONS);
+    }
+
+    /**
+     * Reads a chunk column.
+     *
+     * @return the column, null if the region file or chunk does not exist
+     */
+    @Nullable ChunkColumn readColumn(int chunkX, int chunkZ, int minY, int maxY) throws IOException, AnvilException {
+        final NBTCompound data = readColumnData(chunkX, chunkZ);
+        return data != null ? new ChunkColumn(data, minY, maxY) : null;
+    }
+
+    /**
+     * Reads or creates a chunk column, lets {@code writer} modify it and writes it back to the region file.
+     */
+    void writeColumn(int chunkX, int chunkZ, int minY, int maxY,
+                     @NotNull Consumer<@NotNull ChunkColumn> writer) throws IOException, AnvilException {
+        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
+        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
+        while (true) {
+            final Region region = acquire(regionX, regionZ);
+            final var lock = region.lock.writeLock();
+            lock.lock();
+            try {
+                if (region.closed) continue;
+                RegionFile file = region.file;
+                if (file == null) {
+                    Files.createDirectories(folder);
+                    file = new RegionFile(new RandomAccessFile(region.path.toFile(), "rw"), regionX, regionZ, minY, maxY);
+                    region.file = file;
+                }
+                final ChunkColumn column = file.getOrCreateChunk(chunkX, chunkZ);
+                writer.accept(column);
+                file.writeColumn(column);
+                file.forget(column);
+                // The file may have grown or moved the chunk
+                region.mapping = null;
+                return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Closes all the open regions.
+     */
+    void close() throws IOException {
+        final List<Region> closed = new ArrayList<>();
+        synchronized (regions) {
+            for (Region region : regions.values()) {
+                if (region.closing) continue;
+                region.closing = true;
+                this.closingCount++;
+                closed.add(region);
+            }
+        }
+        for (Region region : closed) close(region);
+    }
+
+    @Nullable NBTCompound readColumnData(int chunkX, int chunkZ) throws IOException {
+        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
+        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
+        while (true) {
+            final Region region = acquire(regionX, regionZ);
+            final var lock = region.lock.readLock();
+            lock.lock();
+            try {
+                if (region.closed) continue;
+                final ByteBuffer mapping = region.mapping();
+                if (mapping == null) return null;
+                return readChunk(mapping, chunkX, chunkZ);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private @Nullable NBTCompound readChunk(ByteBuffer mapping, int chunkX, int chunkZ) throws IOException {
+        final int location = mapping.getInt(((chunkX & 31) + (chunkZ & 31) * 32) * 4);
+        if (location == 0) return null;
+        final int offset = (location >>> 8) * SECTOR_SIZE;
+        if (offset < HEADER_SIZE || offset + 5 > mapping.limit())
+            throw new IOException("Invalid location for chunk " + chunkX + ", " + chunkZ);
+        final int length = mapping.getInt(offset);
+        final int compression = mapping.get(offset + 4) & 0xFF;
+        if (length < 1 || offset + 4 + length > mapping.limit())
+            throw new IOException("Invalid length for chunk " + chunkX + ", " + chunkZ);
+        // Absolute slice, the mapping position is never modified
+        InputStream input;
+        if ((compression & COMPRESSION_EXTERNAL) != 0) {
+            final Path external = folder.resolve("c." + chunkX + "." + chunkZ + ".mcc");
+            input = new BufferedInputStream(Files.newInputStream(external));
+        } else {
+            input = new ByteBufferInputStream(mapping.slice(offset + 5, length - 1));
+        }
+        input = switch (compression & ~COMPRESSION_EXTERNAL) {
+            case COMPRESSION_GZIP -> new GZIPInputStream(input);
+            case COMPRESSION_ZLIB -> new InflaterInputStream(input);
+            case COMPRESSION_NONE -> input;
+            default -> {
+                input.close();
+                throw new IOException("Unsupported compression " + compression + " for chunk " + chunkX + ", " + chunkZ);
+            }
+        };
+        try (NBTReader reader = new NBTReader(input, CompressedProcesser.NONE)) {
+            final NBT nbt = reader.read();
+            if (!(nbt instanceof NBTCompound compound))
+                throw new IOException("Invalid data for chunk " + chunkX + ", " + chunkZ);
+            return compound;
+        } catch (NBTException e) {
+            throw new IOException("Invalid data for chunk " + chunkX + ", " + chunkZ, e);
+        }
+    }
+
+    private Region acquire(int regionX, int regionZ) throws IOException {
+        final long key = (long) regionX << 32 | (regionZ & 0xFFFFFFFFL);
+        while (true) {
+            List<Region> evicted = null;
+            final Region region;
+            synchronized (regions) {
+                Region existing = regions.get(key);
+                if (existing == null) {
+                    existing = new Region(key, folder.resolve(RegionFile.Companion.createFileName(regionX, regionZ)));
+                    this.regions.put(key, existing);
+                    evicted = evict();
+                }
+                region = existing;
+            }
+            // Close outside the map lock, other regions stay accessible while waiting for in-progress reads
+            if (evicted != null) {
+                for (Region old : evicted) close(old);
+            }
+            if (!region.closing) return region;
+            // Evicted regions stay mapped until closed, the file must not be opened twice
+            region.awaitClose();
+        }
+    }
+
+    /**
+     * Marks the least recently used regions as closing, they are removed from the map once closed.
+     */
+    private @Nullable List<Region> evict() {
+        if (regions.size() - closingCount <= maxOpenRegions) return null;
+        List<Region> evicted = new ArrayList<>();
+        for (Region region : regions.values()) {
+            if (region.closing) continue;
+            region.closing = true;
+            this.closingCount++;
+            evicted.add(region);
+            if (regions.size() - closingCount <= maxOpenRegions) break;
+        }
+        return evicted;
+    }
+
+    private void close(Region region) throws IOException {
+        try {
+            region.close();
+        } finally {
+            synchronized (regions) {
+                this.regions.remove(region.key, region);
+                this.closingCount--;
+            }
+            region.closeLatch.countDown();
+        }
+    }
+
+    /**
+     * Gets the number of regions currently in use, including the ones being closed.
+     */
+    int openRegions() {
+        synchronized (regions) {
+            return regions.size();
+        }
+    }
+
+    private static final class Region {
+        private final long key;
+        private final Path path;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final CountDownLatch closeLatch = new CountDownLatch(1);
+        private volatile ByteBuffer mapping;
+        // Set under the map lock once evicted
+        private volatile boolean closing;
+        // Guarded by the write lock
+        private RegionFile file;
+        private boolean closed;
+
+        Region(long key, Path path) {
+            this.key = key;
+            this.path = path;
+        }
+
+        void awaitClose() throws IOException {
+            try {
+                this.closeLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for region " + path + " to close");
+            }
+        }
+
+        @Nullable ByteBuffer mapping() throws IOException {
+            ByteBuffer mapping = this.mapping;
+            if (mapping == null) {
+                synchronized (this) {
+                    mapping = this.mapping;
+                    if (mapping == null) {
+                        if (!Files.exists(path)) return null;
+                        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                            final long size = channel.size();
+                            if (size < HEADER_SIZE) return null;
+                            // The mapping stays valid once the channel is closed
+                            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                        }
+                        this.mapping = mapping;
+                    }
+                }
+            }
+            return mapping;
+        }
+
+        void close() throws IOException {
+            final var lock = this.lock.writeLock();
+            lock.lock();
+            try {
+                this.closed = true;
+                this.mapping = null;
+                if (file != null) {
+                    this.file.close();
+                    this.file = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte @NotNull [] b, int off, int len) {
+            if (len == 0) return 0;
+            final int remaining = buffer.remaining();
+            if (remaining == 0) return -1;
+            final int length = Math.min(len, remaining);
+            this.buffer.get(b, off, length);
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package net.minestom.server.instance;
 
 import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.binary.BinaryReader;
 import net.minestom.server.utils.binary.BinaryWriter;
 import net.minestom.server.utils.binary.Writeable;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 public final class Section implements Writeable {
@@ -10,6 +12,9 @@ public final class Section implements Writeable {
     private Palette biomePalette;
     private byte[] skyLight;
     private byte[] blockLight;
+    // Whether the light arrays are shared with a clone and must be copied before being modified,
+    // set by the cloning thread while the chunk is locked
+    private volatile boolean skyLightShared, blockLightShared;
 
     private Section(Palette blockPalette, Palette biomePalette,
                     byte[] skyLight, byte[] blockLight) {
@@ -38,6 +43,16 @@ public final class Section implements Writeable {
 
     public void setSkyLight(byte[] skyLight) {
         this.skyLight = skyLight;
+        this.skyLightShared = false;
+    }
+
+    /**
+     * Gets the sky light array to modify in place, copied first if shared with a cloned section.
+     */
+    @ApiStatus.Internal
+    public byte[] getModifiableSkyLight() {
+        if (skyLightShared) setSkyLight(skyLight.clone());
+        return skyLight;
     }
 
     public byte[] getBlockLight() {
@@ -46,19 +61,50 @@ public final class Section implements Writeable {
 
     public void setBlockLight(byte[] blockLight) {
         this.blockLight = blockLight;
+        this.blockLightShared = false;
+    }
+
+    /**
+     * Gets the block light array to modify in place, copied first if shared with a cloned section.
+     */
+    @ApiStatus.Internal
+    public byte[] getModifiableBlockLight() {
+        if (blockLightShared) setBlockLight(blockLight.clone());
+        return blockLight;
     }
 
     public void clear() {
         this.blockPalette.fill(0);
         this.biomePalette.fill(0);
-        this.skyLight = new byte[0];
-        this.blockLight = new byte[0];
+        setSkyLight(new byte[0]);
+        setBlockLight(new byte[0]);
     }
 
+    /**
+     * Creates a copy of this section.
+     * <p>
+     * Palettes and lights are shared until either section gets modified,
+     * copying a section which is never written afterward is cheap.
+     *
+     * @return the copied section
+     */
     @Override
     public @NotNull Section clone() {
-        return new Section(blockPalette.clone(), biomePalette.clone(),
-                skyLight.clone(), blockLight.clone());
+        Section section = new Section(blockPalette.clone(), biomePalette.clone(), skyLight, blockLight);
+        this.skyLightShared = section.skyLightShared = true;
+        this.blockLightShared = section.blockLightShared = true;
+        return section;
+    }
+
+    /**
+     * Reads the palettes written by {@link #write(BinaryWriter)}, lights are not included.
+     *
+     * @param reader the reader to read from
+     */
+    public void read(@NotNull BinaryReader reader) {
+        reader.readShort(); // Block count, known by the palette
+        this.blockPalette.read(reader);
+        this.biomePalette.read(reader);
     }
 
     @Override
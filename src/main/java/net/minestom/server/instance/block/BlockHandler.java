@@ -63,6 +63,29 @@ public interface BlockHandler {
         return false;
     }
 
+    /**
+     * Called when a block is randomly ticked, only if this handler has been registered
+     * using {@link BlockManager#registerRandomTickHandler(Block, BlockHandler)}.
+     * <p>
+     * Unlike {@link #tick(Tick)}, the block does not need to have this handler.
+     *
+     * @param tick the random tick details
+     */
+    default void randomTick(@NotNull Tick tick) {
+    }
+
+    /**
+     * Gets if entities touching this block should be notified using {@link #onTouch(Touch)}.
+     * <p>
+     * Entities only look for touched blocks in sections containing touchable blocks.
+     * Defaults to true when {@link #onTouch(Touch)} is overridden.
+     *
+     * @return true to receive touch callbacks
+     */
+    default boolean isTouchable() {
+        return BlockImpl.TOUCHABLE_HANDLERS.get(getClass());
+    }
+
     default @NotNull Collection<Tag<?>> getBlockEntityTags() {
         return Collections.emptyList();
     }
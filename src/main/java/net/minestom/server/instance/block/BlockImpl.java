@@ -32,6 +32,17 @@ record BlockImpl(@NotNull Registry.BlockEntry registry,
     private static final ObjectArray<String[][]> PROPERTIES_VALUES = new ObjectArray<>();
     // Block id -> Map<PropertiesValues, Block>
     private static final ObjectArray<Map<PropertiesHolder, BlockImpl>> POSSIBLE_STATES = new ObjectArray<>();
+    // Handler type -> whether BlockHandler#onTouch is overridden
+    static final ClassValue<Boolean> TOUCHABLE_HANDLERS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(@NotNull Class<?> type) {
+            try {
+                return type.getMethod("onTouch", BlockHandler.Touch.class).getDeclaringClass() != BlockHandler.class;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
     private static final Registry.Container<Block> CONTAINER = Registry.createContainer(Registry.Resource.BLOCKS,
             (namespace, properties) -> {
                 final int blockId = properties.getInt("id");
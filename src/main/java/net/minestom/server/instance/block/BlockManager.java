@@ -11,6 +11,7 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,6 +23,8 @@ public final class BlockManager {
     private final Map<String, Supplier<BlockHandler>> blockHandlerMap = new ConcurrentHashMap<>();
     // block id -> block placement rule
     private final Int2ObjectMap<BlockPlacementRule> placementRuleMap = new Int2ObjectOpenHashMap<>();
+    // block id -> random tick handler, copied on registration as it is read by every chunk tick
+    private volatile BlockHandler[] randomTickHandlers = new BlockHandler[0];
 
     private final Set<String> dummyWarning = ConcurrentHashMap.newKeySet(); // Prevent warning spam
 
@@ -73,4 +76,54 @@ public final class BlockManager {
     public synchronized @Nullable BlockPlacementRule getBlockPlacementRule(@NotNull Block block) {
         return placementRuleMap.get(block.id());
     }
+
+    /**
+     * Registers the handler to call when any state of {@code block} is randomly ticked.
+     * <p>
+     * The handler receives {@link BlockHandler#randomTick(BlockHandler.Tick)} calls,
+     * chunks only sample sections containing randomly ticking states.
+     *
+     * @param block   the block whose states should be randomly ticked
+     * @param handler the handler to call, null to disable random ticks for {@code block}
+     * @see net.minestom.server.instance.Instance#setRandomTickSpeed(int)
+     */
+    public synchronized void registerRandomTickHandler(@NotNull Block block, @Nullable BlockHandler handler) {
+        final int id = block.id();
+        BlockHandler[] handlers = this.randomTickHandlers;
+        if (id >= handlers.length) {
+            if (handler == null) return;
+            handlers = Arrays.copyOf(handlers, id + 1);
+        } else {
+            handlers = handlers.clone();
+        }
+        handlers[id] = handler;
+        // Trim unregistered handlers so that an empty array means no random tick at all
+        int length = handlers.length;
+        while (length > 0 && handlers[length - 1] == null) length--;
+        this.randomTickHandlers = length != handlers.length ? Arrays.copyOf(handlers, length) : handlers;
+    }
+
+    /**
+     * Gets the random tick handler of a block state.
+     *
+     * @param stateId the block state id
+     * @return the handler registered for the block of {@code stateId}, null if none
+     */
+    public @Nullable BlockHandler getRandomTickHandler(int stateId) {
+        final BlockHandler[] handlers = this.randomTickHandlers;
+        if (handlers.length == 0) return null;
+        final Block block = Block.fromStateId((short) stateId);
+        if (block == null) return null;
+        final int id = block.id();
+        return id < handlers.length ? handlers[id] : null;
+    }
+
+    public boolean isRandomlyTicking(int stateId) {
+        return getRandomTickHandler(stateId) != null;
+    }
+
+    @ApiStatus.Internal
+    public boolean hasRandomTickHandlers() {
+        return randomTickHandlers.length != 0;
+    }
 }
@@ -0,0 +1,495 @@
+package net.minestom.server.instance.light;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.registry.Registry;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Computes the block and sky light of a single {@link Chunk}.
+ * <p>
+ * Light is spread using breadth-first queues kept per section, removals are always processed before additions.
+ * An engine only ever writes into the sections of its own chunk, propagation crossing the chunk border
+ * is handed to the neighbour engine which applies it during its own tick.
+ * Meaning that light computation is spread over the {@link net.minestom.server.thread.ThreadDispatcher} threads
+ * the same way chunks are.
+ * <p>
+ * {@link #process()} must only be called from the thread ticking the chunk.
+ */
+@ApiStatus.Internal
+public final class LightEngine {
+    private static final int SECTION_LIGHT_SIZE = 2048;
+
+    // Entry layout: x (4 bits) | z (4 bits) | y (12 bits, relative to the chunk bottom) | level (4 bits) | sky (1 bit) | down (1 bit) | kind (2 bits)
+    private static final int KIND_INCREASE = 0; // Raise the entry to 'level' and spread it
+    private static final int KIND_PROPAGATE = 1; // Spread the current light of the entry
+    private static final int KIND_DECREASE = 2; // A source of 'level' next to the entry has been removed
+    private static final int KIND_BLOCK_CHANGE = 3; // The block at the entry changed, 'level' contains the affected light types
+    private static final int CHANGE_BLOCK_LIGHT = 1;
+    private static final int CHANGE_SKY_LIGHT = 2;
+
+    private static final int[] DX = {1, -1, 0, 0, 0, 0};
+    private static final int[] DY = {0, 0, 0, 0, 1, -1};
+    private static final int[] DZ = {0, 0, 1, -1, 0, 0};
+    private static final int DOWN = 5;
+
+    private final Chunk chunk;
+    private final int height;
+    private final boolean skyLight;
+
+    private final IntArrayFIFOQueue[] decreaseQueues;
+    private final IntArrayFIFOQueue[] increaseQueues;
+    private int pendingDecrease, pendingIncrease;
+    // Entries targeting a neighbour chunk, flushed once processing is done
+    // Index = direction (+x, -x, +z, -z)
+    private final IntArrayList[] outgoing = new IntArrayList[4];
+    private final BitSet changedSections = new BitSet();
+
+    // Entries from block changes and neighbour engines, guarded by 'this'
+    private IntArrayList incoming = new IntArrayList();
+    private IntArrayList processing = new IntArrayList();
+    private volatile boolean initialized;
+
+    public LightEngine(@NotNull Chunk chunk) {
+        this.chunk = chunk;
+        final int sectionCount = chunk.getMaxSection() - chunk.getMinSection();
+        this.height = sectionCount * Chunk.CHUNK_SECTION_SIZE;
+        this.skyLight = chunk.getInstance().getDimensionType().isSkylightEnabled();
+        this.decreaseQueues = new IntArrayFIFOQueue[sectionCount];
+        this.increaseQueues = new IntArrayFIFOQueue[sectionCount];
+    }
+
+    /**
+     * Signals a block change, thread-safe.
+     *
+     * @param x             the block X
+     * @param y             the block Y
+     * @param z             the block Z
+     * @param previousState the previous block state id
+     * @param newState      the new block state id
+     */
+    public void onBlockChange(int x, int y, int z, int previousState, int newState) {
+        if (!initialized || previousState == newState) return;
+        final Registry.BlockEntry previous = registry(previousState);
+        final Registry.BlockEntry next = registry(newState);
+        final boolean occlusionChange = previous.occludes() != next.occludes();
+        int changes = 0;
+        if (occlusionChange || previous.lightEmission() != next.lightEmission()) changes |= CHANGE_BLOCK_LIGHT;
+        if (occlusionChange && skyLight) changes |= CHANGE_SKY_LIGHT;
+        if (changes == 0) return;
+        final int entry = entry(KIND_BLOCK_CHANGE, x & 0xF, y - chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE, z & 0xF,
+                changes, false, false);
+        synchronized (this) {
+            this.incoming.add(entry);
+        }
+    }
+
+    /**
+     * Discards the current light, forcing a complete computation on the next {@link #process()} call.
+     */
+    public void invalidate() {
+        this.initialized = false;
+        synchronized (this) {
+            this.incoming.clear();
+        }
+    }
+
+    /**
+     * Applies all the pending light updates.
+     *
+     * @return the sections (starting at 0 for the lowest one) whose light changed, null if none
+     */
+    public @Nullable BitSet process() {
+        final List<Section> sections = chunk.getSections();
+        if (!initialized) {
+            this.initialized = true;
+            clearQueues();
+            if (!hasLightData(sections)) compute(sections);
+        }
+        final IntArrayList entries;
+        synchronized (this) {
+            entries = incoming;
+            this.incoming = processing;
+            this.processing = entries;
+        }
+        final int[] elements = entries.elements();
+        for (int i = 0; i < entries.size(); i++) {
+            final int entry = elements[i];
+            if (kind(entry) == KIND_BLOCK_CHANGE) {
+                processBlockChange(sections, entry);
+            } else {
+                enqueue(entry);
+            }
+        }
+        entries.clear();
+        propagate(sections);
+        flushOutgoing();
+        if (changedSections.isEmpty()) return null;
+        final BitSet result = (BitSet) changedSections.clone();
+        this.changedSections.clear();
+        return result;
+    }
+
+    private synchronized void offer(IntArrayList entries) {
+        this.incoming.addAll(entries);
+    }
+
+    private void compute(List<Section> sections) {
+        // Block light, from every emitting block
+        for (int i = 0; i < sections.size(); i++) {
+            final Palette palette = sections.get(i).blockPalette();
+            if (palette.count() == 0) continue;
+            final int sectionY = i * Chunk.CHUNK_SECTION_SIZE;
+            palette.getAllPresent((x, y, z, value) -> {
+                final int emission = registry(value).lightEmission();
+                if (emission > 0) enqueue(KIND_INCREASE, x, sectionY + y, z, emission, false, false);
+            });
+        }
+        // Sky light, columns are lit down to their highest occluding block
+        // then spread horizontally where the neighbour column is higher
+        if (skyLight) {
+            final int[] heights = computeHeights(sections);
+            int lowest = height;
+            for (int h : heights) lowest = Math.min(lowest, h);
+            for (int i = 0; i < sections.size(); i++) {
+                final int bottom = i * Chunk.CHUNK_SECTION_SIZE;
+                final byte[] light = new byte[SECTION_LIGHT_SIZE];
+                if (lowest <= bottom) {
+                    Arrays.fill(light, (byte) 0xFF);
+                } else {
+                    for (int j = 0; j < heights.length; j++) {
+                        for (int y = Math.max(heights[j] - bottom, 0); y < Chunk.CHUNK_SECTION_SIZE; y++) {
+                            setNibble(light, index(j & 0xF, y, j >> 4), 15);
+                        }
+                    }
+                }
+                sections.get(i).setSkyLight(light);
+            }
+            final int[] neighbourTops = new int[4];
+            for (int direction = 0; direction < 4; direction++) {
+                final LightEngine neighbour = neighbour(direction);
+                neighbourTops[direction] = neighbour != null ? neighbour.highestSection() : 0;
+            }
+            for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                    final int columnHeight = heights[x | z << 4];
+                    int top = columnHeight;
+                    for (int direction = 0; direction < 4; direction++) {
+                        final int nx = x + DX[direction], nz = z + DZ[direction];
+                        final int neighbourDirection = outgoingDirection(nx, nz);
+                        top = Math.max(top, neighbourDirection == -1 ? heights[nx | nz << 4] : neighbourTops[neighbourDirection]);
+                    }
+                    for (int y = columnHeight; y < top; y++) {
+                        enqueue(KIND_PROPAGATE, x, y, z, 0, true, false);
+                    }
+                }
+            }
+        }
+        // Light coming from the already loaded neighbours
+        for (int direction = 0; direction < 4; direction++) {
+            final LightEngine neighbour = neighbour(direction);
+            if (neighbour == null) continue;
+            final List<Section> neighbourSections = neighbour.chunk.getSections();
+            for (int i = 0; i < Chunk.CHUNK_SIZE_X; i++) {
+                // Border position in this chunk, and the adjacent one in the neighbour
+                final int x = direction == 0 ? 15 : direction == 1 ? 0 : i;
+                final int z = direction == 2 ? 15 : direction == 3 ? 0 : i;
+                final int nx = (x + DX[direction]) & 0xF, nz = (z + DZ[direction]) & 0xF;
+                for (int y = 0; y < height; y++) {
+                    final int blockLight = getLight(neighbourSections, false, nx, y, nz);
+                    if (blockLight > 1) enqueue(KIND_INCREASE, x, y, z, blockLight - 1, false, false);
+                    if (skyLight) {
+                        final int sky = getLight(neighbourSections, true, nx, y, nz);
+                        if (sky > 1) enqueue(KIND_INCREASE, x, y, z, sky - 1, true, false);
+                    }
+                }
+            }
+        }
+        this.changedSections.set(0, sections.size());
+    }
+
+    private int[] computeHeights(List<Section> sections) {
+        // Index = x | z << 4, value = lowest y receiving direct sky light
+        int[] heights = new int[Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z];
+        int remaining = heights.length;
+        boolean[] found = new boolean[heights.length];
+        for (int i = sections.size() - 1; i >= 0 && remaining > 0; i--) {
+            final Palette palette = sections.get(i).blockPalette();
+            if (palette.count() == 0) continue;
+            for (int j = 0; j < heights.length; j++) {
+                if (found[j]) continue;
+                final int x = j & 0xF, z = j >> 4;
+                for (int y = Chunk.CHUNK_SECTION_SIZE - 1; y >= 0; y--) {
+                    if (registry(palette.get(x, y, z)).occludes()) {
+                        heights[j] = i * Chunk.CHUNK_SECTION_SIZE + y + 1;
+                        found[j] = true;
+                        remaining--;
+                        break;
+                    }
+                }
+            }
+        }
+        return heights;
+    }
+
+    private int highestSection() {
+        final List<Section> sections = chunk.getSections();
+        for (int i = sections.size() - 1; i >= 0; i--) {
+            if (sections.get(i).blockPalette().count() != 0) return (i + 1) * Chunk.CHUNK_SECTION_SIZE;
+        }
+        return 0;
+    }
+
+    private void processBlockChange(List<Section> sections, int entry) {
+        final int x = x(entry), y = y(entry), z = z(entry);
+        final int changes = level(entry);
+        final Registry.BlockEntry registry = registry(getState(sections, x, y, z));
+        if ((changes & CHANGE_BLOCK_LIGHT) != 0) relight(sections, false, x, y, z, registry);
+        if ((changes & CHANGE_SKY_LIGHT) != 0) relight(sections, true, x, y, z, registry);
+    }
+
+    private void relight(List<Section> sections, boolean sky, int x, int y, int z, Registry.BlockEntry registry) {
+        final int value = getLight(sections, sky, x, y, z);
+        if (value > 0) {
+            setLight(sections, sky, x, y, z, 0);
+            for (int i = 0; i < DX.length; i++) {
+                enqueue(KIND_DECREASE, x + DX[i], y + DY[i], z + DZ[i], value, sky, i == DOWN);
+            }
+        }
+        if (!sky && registry.lightEmission() > 0) {
+            enqueue(KIND_INCREASE, x, y, z, registry.lightEmission(), false, false);
+        }
+        if (!registry.occludes()) {
+            // Pull the light back from the neighbours
+            if (sky && y == height - 1) enqueue(KIND_INCREASE, x, y, z, 15, true, false);
+            for (int i = 0; i < DX.length; i++) {
+                enqueue(KIND_PROPAGATE, x + DX[i], y + DY[i], z + DZ[i], 0, sky, false);
+            }
+        }
+    }
+
+    private void propagate(List<Section> sections) {
+        while (pendingDecrease > 0) {
+            for (IntArrayFIFOQueue queue : decreaseQueues) {
+                if (queue == null) continue;
+                while (!queue.isEmpty()) {
+                    this.pendingDecrease--;
+                    processDecrease(sections, queue.dequeueInt());
+                }
+            }
+        }
+        // Increases never schedule decreases
+        while (pendingIncrease > 0) {
+            for (IntArrayFIFOQueue queue : increaseQueues) {
+                if (queue == null) continue;
+                while (!queue.isEmpty()) {
+                    this.pendingIncrease--;
+                    processIncrease(sections, queue.dequeueInt());
+                }
+            }
+        }
+    }
+
+    private void processDecrease(List<Section> sections, int entry) {
+        final int x = x(entry), y = y(entry), z = z(entry);
+        final boolean sky = sky(entry);
+        final int value = getLight(sections, sky, x, y, z);
+        if (value == 0) return;
+        final int level = level(entry);
+        if (value < level || (sky && down(entry) && level == 15 && value == 15)) {
+            // Light was coming from the removed source
+            setLight(sections, sky, x, y, z, 0);
+            if (!sky) {
+                final int emission = registry(getState(sections, x, y, z)).lightEmission();
+                if (emission > 0) enqueue(KIND_INCREASE, x, y, z, emission, false, false);
+            }
+            for (int i = 0; i < DX.length; i++) {
+                enqueue(KIND_DECREASE, x + DX[i], y + DY[i], z + DZ[i], value, sky, i == DOWN);
+            }
+        } else {
+            // Independent source, spread it again to fill the removed light
+            enqueue(KIND_PROPAGATE, x, y, z, 0, sky, false);
+        }
+    }
+
+    private void processIncrease(List<Section> sections, int entry) {
+        final int x = x(entry), y = y(entry), z = z(entry);
+        final boolean sky = sky(entry);
+        int level;
+        if (kind(entry) == KIND_INCREASE) {
+            level = level(entry);
+            if (level <= getLight(sections, sky, x, y, z)) return;
+            final Registry.BlockEntry registry = registry(getState(sections, x, y, z));
+            if (registry.occludes() && (sky || level > registry.lightEmission())) return;
+            setLight(sections, sky, x, y, z, level);
+        } else {
+            level = getLight(sections, sky, x, y, z);
+            if (level <= 1) return;
+        }
+        for (int i = 0; i < DX.length; i++) {
+            final int nx = x + DX[i], ny = y + DY[i], nz = z + DZ[i];
+            final int nextLevel = sky && i == DOWN && level == 15 ? 15 : level - 1;
+            if (nextLevel <= 0 || ny < 0 || ny >= height) continue;
+            if (outgoingDirection(nx, nz) == -1 && getLight(sections, sky, nx, ny, nz) >= nextLevel) continue;
+            enqueue(KIND_INCREASE, nx, ny, nz, nextLevel, sky, false);
+        }
+    }
+
+    private void enqueue(int kind, int x, int y, int z, int level, boolean sky, boolean down) {
+        if (y < 0 || y >= height) return;
+        final int direction = outgoingDirection(x, z);
+        final int entry = entry(kind, x & 0xF, y, z & 0xF, level, sky, down);
+        if (direction != -1) {
+            IntArrayList list = outgoing[direction];
+            if (list == null) this.outgoing[direction] = list = new IntArrayList();
+            list.add(entry);
+            return;
+        }
+        enqueue(entry);
+    }
+
+    private void enqueue(int entry) {
+        final int section = y(entry) / Chunk.CHUNK_SECTION_SIZE;
+        final IntArrayFIFOQueue[] queues;
+        if (kind(entry) == KIND_DECREASE) {
+            queues = decreaseQueues;
+            this.pendingDecrease++;
+        } else {
+            queues = increaseQueues;
+            this.pendingIncrease++;
+        }
+        IntArrayFIFOQueue queue = queues[section];
+        if (queue == null) queues[section] = queue = new IntArrayFIFOQueue();
+        queue.enqueue(entry);
+    }
+
+    private void flushOutgoing() {
+        for (int direction = 0; direction < outgoing.length; direction++) {
+            final IntArrayList entries = outgoing[direction];
+            if (entries == null || entries.isEmpty()) continue;
+            // Unloaded neighbours retrieve the light themselves once computed
+            final LightEngine neighbour = neighbour(direction);
+            if (neighbour != null) neighbour.offer(entries);
+            entries.clear();
+        }
+    }
+
+    private void clearQueues() {
+        for (IntArrayFIFOQueue queue : decreaseQueues) if (queue != null) queue.clear();
+        for (IntArrayFIFOQueue queue : increaseQueues) if (queue != null) queue.clear();
+        for (IntArrayList list : outgoing) if (list != null) list.clear();
+        this.pendingDecrease = 0;
+        this.pendingIncrease = 0;
+    }
+
+    private @Nullable LightEngine neighbour(int direction) {
+        final Chunk neighbour = chunk.getInstance().getChunk(chunk.getChunkX() + DX[direction], chunk.getChunkZ() + DZ[direction]);
+        if (neighbour instanceof DynamicChunk dynamicChunk && neighbour.isLoaded()) {
+            final LightEngine engine = dynamicChunk.getLightEngine();
+            if (engine.initialized) return engine;
+        }
+        return null;
+    }
+
+    private void setLight(List<Section> sections, boolean sky, int x, int y, int z, int value) {
+        final int sectionIndex = y / Chunk.CHUNK_SECTION_SIZE;
+        final Section section = sections.get(sectionIndex);
+        byte[] light = sky ? section.getModifiableSkyLight() : section.getModifiableBlockLight();
+        if (light.length == 0) {
+            if (value == 0) return;
+            light = new byte[SECTION_LIGHT_SIZE];
+            if (sky) {
+                section.setSkyLight(light);
+            } else {
+                section.setBlockLight(light);
+            }
+        }
+        setNibble(light, index(x, y & 0xF, z), value);
+        this.changedSections.set(sectionIndex);
+    }
+
+    private static int getLight(List<Section> sections, boolean sky, int x, int y, int z) {
+        final Section section = sections.get(y / Chunk.CHUNK_SECTION_SIZE);
+        final byte[] light = sky ? section.getSkyLight() : section.getBlockLight();
+        if (light.length == 0) return 0;
+        final int index = index(x, y & 0xF, z);
+        return (light[index >>> 1] >>> ((index & 1) << 2)) & 0xF;
+    }
+
+    private static void setNibble(byte[] light, int index, int value) {
+        final int arrayIndex = index >>> 1;
+        final int shift = (index & 1) << 2;
+        light[arrayIndex] = (byte) ((light[arrayIndex] & ~(0xF << shift)) | (value << shift));
+    }
+
+    private static int getState(List<Section> sections, int x, int y, int z) {
+        return sections.get(y / Chunk.CHUNK_SECTION_SIZE).blockPalette().get(x, y & 0xF, z);
+    }
+
+    private static boolean hasLightData(List<Section> sections) {
+        for (Section section : sections) {
+            if (section.getSkyLight().length != 0 || section.getBlockLight().length != 0) return true;
+        }
+        return false;
+    }
+
+    private static Registry.BlockEntry registry(int stateId) {
+        final Block block = Block.fromStateId((short) stateId);
+        return block != null ? block.registry() : Block.AIR.registry();
+    }
+
+    private static int outgoingDirection(int x, int z) {
+        if (x > 15) return 0;
+        if (x < 0) return 1;
+        if (z > 15) return 2;
+        if (z < 0) return 3;
+        return -1;
+    }
+
+    private static int index(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+
+    private static int entry(int kind, int x, int y, int z, int level, boolean sky, boolean down) {
+        return x | z << 4 | y << 8 | level << 20 | (sky ? 1 << 24 : 0) | (down ? 1 << 25 : 0) | kind << 26;
+    }
+
+    private static int x(int entry) {
+        return entry & 0xF;
+    }
+
+    private static int z(int entry) {
+        return entry >>> 4 & 0xF;
+    }
+
+    private static int y(int entry) {
+        return entry >>> 8 & 0xFFF;
+    }
+
+    private static int level(int entry) {
+        return entry >>> 20 & 0xF;
+    }
+
+    private static boolean sky(int entry) {
+        return (entry & 1 << 24) != 0;
+    }
+
+    private static boolean down(int entry) {
+        return (entry & 1 << 25) != 0;
+    }
+
+    private static int kind(int entry) {
+        return entry >>> 26 & 0x3;
+    }
+}
@@ -1,14 +1,16 @@
 package net.minestom.server.instance.palette;
 
+import net.minestom.server.utils.binary.BinaryReader;
 import net.minestom.server.utils.binary.BinaryWriter;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.IntPredicate;
 import java.util.function.IntUnaryOperator;
 
 /**
  * Palette that switches between its backend based on the use case.
  */
-final class AdaptivePalette implements Palette {
+final class AdaptivePalette implements Palette, Cloneable {
     final int dimension;
     final int dimensionBitCount;
     final int maxBitsPerEntry;
@@ -16,6 +18,8 @@ final class AdaptivePalette implements Palette {
     final int bitsIncrement;
 
     private SpecializedPalette palette;
+    // Whether the current palette is shared with a clone and must be copied before being modified
+    private volatile boolean copyOnWrite;
 
     AdaptivePalette(int dimension, int maxBitsPerEntry, int bitsPerEntry, int bitsIncrement) {
         this.dimensionBitCount = validateDimension(dimension);
@@ -57,6 +61,7 @@ final class AdaptivePalette implements Palette {
     @Override
     public void fill(int value) {
         this.palette = new FilledPalette(dimension, value);
+        this.copyOnWrite = false;
     }
 
     @Override
@@ -64,6 +69,7 @@ final class AdaptivePalette implements Palette {
         SpecializedPalette newPalette = new FlexiblePalette(this);
         newPalette.setAll(supplier);
         this.palette = newPalette;
+        this.copyOnWrite = false;
     }
 
     @Override
@@ -84,6 +90,11 @@ final class AdaptivePalette implements Palette {
         return palette.count();
     }
 
+    @Override
+    public int count(@NotNull IntPredicate predicate) {
+        return palette.count(predicate);
+    }
+
     @Override
     public int bitsPerEntry() {
         return palette.bitsPerEntry();
@@ -102,8 +113,12 @@ final class AdaptivePalette implements Palette {
     @Override
     public @NotNull Palette clone() {
         try {
+            // The palette is only copied once either side gets modified
             AdaptivePalette adaptivePalette = (AdaptivePalette) super.clone();
-            adaptivePalette.palette = palette.clone();
+            if (palette instanceof FlexiblePalette) {
+                this.copyOnWrite = true;
+                adaptivePalette.copyOnWrite = true;
+            }
             return adaptivePalette;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -115,6 +130,30 @@ final class AdaptivePalette implements Palette {
         optimizedPalette().write(writer);
     }
 
+    @Override
+    public void read(@NotNull BinaryReader reader) {
+        final int bitsPerEntry = reader.readByte();
+        if (bitsPerEntry < 1 || bitsPerEntry > 15) {
+            throw new IllegalArgumentException("Invalid bits per entry: " + bitsPerEntry);
+        }
+        final int[] paletteValues = bitsPerEntry <= maxBitsPerEntry ? reader.readVarIntArray() : null;
+        final long[] values = reader.readLongArray();
+        if (paletteValues != null && paletteValues.length == 1) {
+            // Single value, see FilledPalette
+            fill(paletteValues[0]);
+            return;
+        }
+        this.copyOnWrite = false;
+        FlexiblePalette palette = new FlexiblePalette(this, bitsPerEntry);
+        palette.load(paletteValues, values);
+        if (paletteValues == null || paletteValues[0] == 0) {
+            this.palette = palette;
+        } else {
+            // The first palette index must be 0
+            setAll(palette::get);
+        }
+    }
+
     Palette optimizedPalette() {
         var currentPalette = this.palette;
         if (currentPalette instanceof FlexiblePalette flexiblePalette) {
@@ -138,7 +177,11 @@ final class AdaptivePalette implements Palette {
             currentPalette = new FlexiblePalette(this);
             currentPalette.fill(filledPalette.value());
             this.palette = currentPalette;
+        } else if (copyOnWrite) {
+            currentPalette = currentPalette.clone();
+            this.palette = currentPalette;
         }
+        this.copyOnWrite = false;
         return currentPalette;
     }
 
@@ -3,6 +3,8 @@ package net.minestom.server.instance.palette;
 import net.minestom.server.utils.binary.BinaryWriter;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.IntPredicate;
+
 /**
  * Palette containing a single value. Useful for both empty and full palettes.
  */
@@ -31,6 +33,11 @@ record FilledPalette(int dimension, int value) implements SpecializedPalette.Imm
         return value != 0 ? maxSize() : 0;
     }
 
+    @Override
+    public int count(@NotNull IntPredicate predicate) {
+        return predicate.test(value) ? maxSize() : 0;
+    }
+
     @Override
     public @NotNull SpecializedPalette clone() {
         return this;
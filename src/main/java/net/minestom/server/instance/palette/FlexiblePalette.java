@@ -7,7 +7,9 @@ import net.minestom.server.utils.binary.BinaryWriter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
 import java.util.function.IntUnaryOperator;
 
 /**
@@ -37,6 +39,10 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
     private int count = 0;
 
     private long[] values;
+    // palette index = number of entries using it, null without palette
+    private int[] indexCounts;
+    // value = number of entries using it, null with palette
+    private Int2IntOpenHashMap valueCounts;
     // palette index = value
     IntArrayList paletteToValueList;
     // value = palette index
@@ -55,6 +61,13 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         this.valueToPaletteMap.defaultReturnValue(-1);
 
         this.values = new long[valuesLength(bitsPerEntry)];
+        if (hasPalette) {
+            this.indexCounts = new int[maxPaletteSize(bitsPerEntry)];
+            this.indexCounts[0] = maxSize();
+        } else {
+            this.valueCounts = new Int2IntOpenHashMap();
+            this.valueCounts.put(0, maxSize());
+        }
     }
 
     FlexiblePalette(AdaptivePalette adaptivePalette) {
@@ -116,6 +129,15 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
                 // Block count changed
                 this.count += currentAir ? 1 : -1;
             }
+            final int[] indexCounts = this.indexCounts;
+            if (indexCounts != null) {
+                indexCounts[(int) oldBlock]--;
+                indexCounts[value]++;
+            } else {
+                final Int2IntOpenHashMap valueCounts = this.valueCounts;
+                if (valueCounts.addTo((int) oldBlock, -1) == 1) valueCounts.remove((int) oldBlock);
+                valueCounts.addTo(value, 1);
+            }
             values[index] = block;
         }
     }
@@ -125,9 +147,11 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         if (value == 0) {
             Arrays.fill(values, 0);
             this.count = 0;
+            resetCounts(0);
             return;
         }
         value = getPaletteIndex(value);
+        resetCounts(value);
         final int bitsPerEntry = this.bitsPerEntry;
         final int valuesPerLong = VALUES_PER_LONG[bitsPerEntry];
         final long[] values = this.values;
@@ -146,6 +170,7 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         int fillValue = -1;
         int count = 0;
         int index = 0;
+        boolean usesPalette = hasPalette;
         for (int y = 0; y < dimension; y++) {
             for (int z = 0; z < dimension; z++) {
                 for (int x = 0; x < dimension; x++) {
@@ -163,6 +188,10 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
                         value = getPaletteIndex(value);
                         count++;
                     }
+                    if (usesPalette && !hasPalette) {
+                        usesPalette = false;
+                        indexesToValues(cache, index);
+                    }
                     cache[index++] = value;
                 }
             }
@@ -188,11 +217,17 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         int[] cache = sizeCache(maxSize());
         AtomicInteger arrayIndex = new AtomicInteger();
         AtomicInteger count = new AtomicInteger();
+        AtomicBoolean usesPalette = new AtomicBoolean(hasPalette);
         getAll((x, y, z, value) -> {
             final int newValue = function.apply(x, y, z, value);
             final int index = arrayIndex.getPlain();
             arrayIndex.setPlain(index + 1);
-            cache[index] = newValue != value ? getPaletteIndex(newValue) : value;
+            final int paletteValue = newValue != 0 ? getPaletteIndex(newValue) : 0;
+            if (usesPalette.getPlain() && !hasPalette) {
+                usesPalette.setPlain(false);
+                indexesToValues(cache, index);
+            }
+            cache[index] = paletteValue;
             if (newValue != 0) count.setPlain(count.getPlain() + 1);
         });
         // Update palette content
@@ -205,6 +240,27 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         return count;
     }
 
+    @Override
+    public int count(@NotNull IntPredicate predicate) {
+        final int[] indexCounts = this.indexCounts;
+        if (indexCounts == null) {
+            // Direct values, counted per value
+            int result = 0;
+            for (var entry : valueCounts.int2IntEntrySet()) {
+                if (predicate.test(entry.getIntKey())) result += entry.getIntValue();
+            }
+            return result;
+        }
+        final int[] ids = paletteToValueList.elements();
+        final int paletteSize = Math.min(lastPaletteIndex, indexCounts.length);
+        int result = 0;
+        for (int i = 0; i < paletteSize; i++) {
+            final int indexCount = indexCounts[i];
+            if (indexCount != 0 && predicate.test(ids[i])) result += indexCount;
+        }
+        return result;
+    }
+
     @Override
     public int bitsPerEntry() {
         return bitsPerEntry;
@@ -227,6 +283,8 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
             palette.values = values != null ? values.clone() : null;
             palette.paletteToValueList = paletteToValueList.clone();
             palette.valueToPaletteMap = valueToPaletteMap.clone();
+            palette.indexCounts = indexCounts != null ? indexCounts.clone() : null;
+            palette.valueCounts = valueCounts != null ? valueCounts.clone() : null;
             palette.count = count;
             return palette;
         } catch (CloneNotSupportedException e) {
@@ -244,6 +302,58 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         writer.writeLongArray(values);
     }
 
+    /**
+     * Replaces the content with serialized data, {@code values} is used directly.
+     *
+     * @param paletteValues the palette, null if the values are not palette indexes
+     * @param values        the packed entries
+     */
+    void load(int[] paletteValues, long[] values) {
+        if (values.length != valuesLength(bitsPerEntry))
+            throw new IllegalArgumentException("Invalid data length: " + values.length);
+        if (paletteValues != null) {
+            if (paletteValues.length == 0 || paletteValues.length > maxPaletteSize(bitsPerEntry))
+                throw new IllegalArgumentException("Invalid palette size: " + paletteValues.length);
+            Int2IntOpenHashMap valueToPaletteMap = new Int2IntOpenHashMap(paletteValues.length);
+            valueToPaletteMap.defaultReturnValue(-1);
+            for (int i = 0; i < paletteValues.length; i++) valueToPaletteMap.putIfAbsent(paletteValues[i], i);
+            this.paletteToValueList = IntArrayList.wrap(paletteValues);
+            this.valueToPaletteMap = valueToPaletteMap;
+            this.lastPaletteIndex = paletteValues.length;
+        }
+        this.values = values;
+        // Recount the entries
+        final int[] indexCounts = this.indexCounts;
+        final Int2IntOpenHashMap valueCounts = this.valueCounts;
+        if (indexCounts != null) Arrays.fill(indexCounts, 0);
+        if (valueCounts != null) valueCounts.clear();
+        final int size = maxSize();
+        final int bitsPerEntry = this.bitsPerEntry;
+        final int valuesPerLong = VALUES_PER_LONG[bitsPerEntry];
+        final int magicMask = MAGIC_MASKS[bitsPerEntry];
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            final long value = values[i];
+            int index = i * valuesPerLong;
+            final int maxIndex = Math.min(index + valuesPerLong, size);
+            int bitIndex = 0;
+            for (; index < maxIndex; index++) {
+                final int entry = (int) (value >> bitIndex & magicMask);
+                if (paletteValues != null) {
+                    if (entry >= paletteValues.length)
+                        throw new IllegalArgumentException("Invalid palette index: " + entry);
+                    indexCounts[entry]++;
+                    if (paletteValues[entry] != 0) count++;
+                } else {
+                    valueCounts.addTo(entry, 1);
+                    if (entry != 0) count++;
+                }
+                bitIndex += bitsPerEntry;
+            }
+        }
+        this.count = count;
+    }
+
     private int fixBitsPerEntry(int bitsPerEntry) {
         return bitsPerEntry > maxBitsPerEntry() ? 15 : bitsPerEntry;
     }
@@ -309,6 +419,34 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
             }
             values[i] = block;
         }
+        final int[] indexCounts = this.indexCounts;
+        if (indexCounts != null) {
+            Arrays.fill(indexCounts, 0);
+            for (int i = 0; i < size; i++) indexCounts[paletteValues[i]]++;
+        } else {
+            final Int2IntOpenHashMap valueCounts = this.valueCounts;
+            valueCounts.clear();
+            for (int i = 0; i < size; i++) valueCounts.addTo(paletteValues[i], 1);
+        }
+    }
+
+    /**
+     * Converts palette indexes written before the palette got resized to direct values.
+     */
+    private void indexesToValues(int[] cache, int length) {
+        final int[] ids = paletteToValueList.elements();
+        for (int i = 0; i < length; i++) cache[i] = ids[cache[i]];
+    }
+
+    private void resetCounts(int paletteIndex) {
+        final int[] indexCounts = this.indexCounts;
+        if (indexCounts != null) {
+            Arrays.fill(indexCounts, 0);
+            indexCounts[paletteIndex] = maxSize();
+        } else {
+            this.valueCounts.clear();
+            this.valueCounts.put(paletteIndex, maxSize());
+        }
     }
 
     private void resize(int newBitsPerEntry) {
@@ -322,6 +460,8 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         this.lastPaletteIndex = palette.lastPaletteIndex;
         this.count = palette.count;
         this.values = palette.values;
+        this.indexCounts = palette.indexCounts;
+        this.valueCounts = palette.valueCounts;
     }
 
     private int getPaletteIndex(int value) {
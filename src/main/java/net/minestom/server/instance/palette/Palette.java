@@ -1,8 +1,11 @@
 package net.minestom.server.instance.palette;
 
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.binary.Readable;
 import net.minestom.server.utils.binary.Writeable;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.IntPredicate;
 import java.util.function.IntUnaryOperator;
 
 /**
@@ -10,7 +13,7 @@ import java.util.function.IntUnaryOperator;
  * <p>
  * 0 is the default value.
  */
-public interface Palette extends Writeable {
+public interface Palette extends Writeable, Readable {
     static Palette blocks() {
         return newPalette(16, 8, 6, 1);
     }
@@ -39,11 +42,33 @@ public interface Palette extends Writeable {
 
     void replaceAll(@NotNull EntryFunction function);
 
+    /**
+     * Replaces the palette content with the data written by {@link #write(net.minestom.server.utils.binary.BinaryWriter)}.
+     * <p>
+     * The entries are copied in bulk, values are not translated one by one.
+     *
+     * @param reader the reader to read from
+     * @throws IllegalArgumentException if the data does not match the palette dimension
+     */
+    @Override
+    void read(@NotNull BinaryReader reader);
+
     /**
      * Returns the number of entries in this palette.
      */
     int count();
 
+    /**
+     * Returns the number of entries whose value matches {@code predicate}.
+     * <p>
+     * The predicate is tested once per distinct value when the palette keeps track of its values occurrences,
+     * making it cheaper than iterating over all the entries.
+     *
+     * @param predicate the value predicate
+     * @return the number of matching entries, including empty ones if {@code predicate} accepts 0
+     */
+    int count(@NotNull IntPredicate predicate);
+
     /**
      * Returns the number of bits used per entry.
      */
@@ -1,5 +1,6 @@
 package net.minestom.server.instance.palette;
 
+import net.minestom.server.utils.binary.BinaryReader;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.function.IntUnaryOperator;
@@ -15,6 +16,11 @@ interface SpecializedPalette extends Palette {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    default void read(@NotNull BinaryReader reader) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     @NotNull SpecializedPalette clone();
 
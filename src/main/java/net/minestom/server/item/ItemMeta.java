@@ -115,6 +115,8 @@ public class ItemMeta implements TagReadable, Writeable {
 
     @Override
     public <T> @Nullable T getTag(@NotNull Tag<T> tag) {
+        // Not backed by a TagHandler, the meta is immutable and its whole compound
+        // is required anyway for equality, hashing and network serialization
         return tag.read(nbt);
     }
 
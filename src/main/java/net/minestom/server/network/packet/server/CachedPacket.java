@@ -1,5 +1,6 @@
 package net.minestom.server.network.packet.server;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.utils.PacketUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -9,22 +10,31 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * Represents a packet that is only computed when required (either due to memory demand or invalidated data)
  * <p>
  * The cache is stored in a {@link SoftReference} and is invalidated when {@link #invalidate()} is called.
+ * Compressed and uncompressed framing are cached separately, each one being computed once and shared
+ * by all the connections. Large packets are compressed outside the writing thread, connections
+ * requesting the packet meanwhile wait for the same compression.
  * <p>
  * Packet supplier must be thread-safe.
  */
 @ApiStatus.Internal
 public final class CachedPacket implements SendablePacket {
     private static final VarHandle PACKET;
+    private static final VarHandle UNCOMPRESSED_PACKET;
+    private static final VarHandle COMPRESSING;
 
     static {
         try {
             PACKET = MethodHandles.lookup().findVarHandle(CachedPacket.class, "packet", SoftReference.class);
+            UNCOMPRESSED_PACKET = MethodHandles.lookup().findVarHandle(CachedPacket.class, "uncompressedPacket", SoftReference.class);
+            COMPRESSING = MethodHandles.lookup().findVarHandle(CachedPacket.class, "compressing", CompletableFuture.class);
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new IllegalStateException(e);
         }
@@ -33,6 +43,10 @@ public final class CachedPacket implements SendablePacket {
     private final Supplier<ServerPacket> packetSupplier;
     @SuppressWarnings("unused")
     private SoftReference<FramedPacket> packet;
+    @SuppressWarnings("unused")
+    private SoftReference<FramedPacket> uncompressedPacket;
+    @SuppressWarnings("unused")
+    private CompletableFuture<FramedPacket> compressing;
 
     public CachedPacket(@NotNull Supplier<@NotNull ServerPacket> packetSupplier) {
         this.packetSupplier = packetSupplier;
@@ -44,32 +58,98 @@ public final class CachedPacket implements SendablePacket {
 
     public void invalidate() {
         PACKET.setRelease(this, null);
+        UNCOMPRESSED_PACKET.setRelease(this, null);
+        COMPRESSING.setRelease(this, null);
     }
 
     public @NotNull ServerPacket packet() {
-        @SuppressWarnings("unchecked")
-        SoftReference<FramedPacket> ref = (SoftReference<FramedPacket>) PACKET.getAcquire(this);
         FramedPacket cache;
-        if (ref != null && (cache = ref.get()) != null)
+        if ((cache = cache(PACKET)) != null || (cache = cache(UNCOMPRESSED_PACKET)) != null)
             return cache.packet(); // Avoid potential packet allocation
         return packetSupplier.get();
     }
 
     public @NotNull ByteBuffer body() {
-        FramedPacket cache = updatedCache();
-        return cache != null ? cache.body() : PacketUtils.createFramedPacket(packetSupplier.get());
+        return body(MinecraftServer.getCompressionThreshold() > 0);
+    }
+
+    /**
+     * Gets the framed packet.
+     *
+     * @param compressed true to get the packet framed with compression enabled
+     * @return the framed packet
+     */
+    public @NotNull ByteBuffer body(boolean compressed) {
+        FramedPacket cache = updatedCache(compressed);
+        return cache != null ? cache.body() : PacketUtils.createFramedPacket(packetSupplier.get(), compressed);
     }
 
-    private @Nullable FramedPacket updatedCache() {
+    /**
+     * Gets the packet framed with compression enabled.
+     * <p>
+     * Large packets missing from the cache are compressed by the compression executor
+     * and given to {@code asyncCompression} instead of being deflated in the calling thread.
+     *
+     * @param asyncCompression consumer of the framed packet future, called if compressed asynchronously
+     * @return the framed packet, null if compressed asynchronously
+     */
+    @ApiStatus.Internal
+    public @Nullable ByteBuffer compressedBody(@NotNull Consumer<CompletableFuture<ByteBuffer>> asyncCompression) {
         if (!PacketUtils.CACHED_PACKET)
-            return null;
+            return PacketUtils.createFramedPacket(packetSupplier.get(), asyncCompression);
         @SuppressWarnings("unchecked")
         SoftReference<FramedPacket> ref = (SoftReference<FramedPacket>) PACKET.getAcquire(this);
         FramedPacket cache;
+        if (ref != null && (cache = ref.get()) != null) return cache.body();
+        @SuppressWarnings("unchecked")
+        CompletableFuture<FramedPacket> future = (CompletableFuture<FramedPacket>) COMPRESSING.getAcquire(this);
+        if (future == null) {
+            future = PacketUtils.allocateTrimmedPacketAsync(packetSupplier.get());
+            if (future.isDone()) return share(PACKET, ref, future.join()).body();
+            @SuppressWarnings("unchecked")
+            CompletableFuture<FramedPacket> witness = (CompletableFuture<FramedPacket>)
+                    COMPRESSING.compareAndExchangeRelease(this, null, future);
+            if (witness != null) {
+                // Another connection started compressing first
+                future = witness;
+            } else {
+                final CompletableFuture<FramedPacket> started = future;
+                started.thenAccept(packet -> {
+                    // Skip if invalidated while compressing
+                    if (COMPRESSING.compareAndSet(this, started, null)) share(PACKET, ref, packet);
+                });
+            }
+        }
+        asyncCompression.accept(future.thenApply(FramedPacket::body));
+        return null;
+    }
+
+    private @Nullable FramedPacket updatedCache(boolean compressed) {
+        if (!PacketUtils.CACHED_PACKET)
+            return null;
+        final VarHandle handle = compressed ? PACKET : UNCOMPRESSED_PACKET;
+        @SuppressWarnings("unchecked")
+        SoftReference<FramedPacket> ref = (SoftReference<FramedPacket>) handle.getAcquire(this);
+        FramedPacket cache;
         if (ref == null || (cache = ref.get()) == null) {
-            cache = PacketUtils.allocateTrimmedPacket(packetSupplier.get());
-            PACKET.setRelease(this, new SoftReference<>(cache));
+            cache = share(handle, ref, PacketUtils.allocateTrimmedPacket(packetSupplier.get(), compressed));
         }
         return cache;
     }
+
+    private FramedPacket share(VarHandle handle, SoftReference<FramedPacket> ref, FramedPacket cache) {
+        // Share the first computed packet if multiple threads raced
+        @SuppressWarnings("unchecked")
+        SoftReference<FramedPacket> witness = (SoftReference<FramedPacket>)
+                handle.compareAndExchangeRelease(this, ref, new SoftReference<>(cache));
+        FramedPacket shared;
+        if (witness != ref && witness != null && (shared = witness.get()) != null) return shared;
+        return cache;
+    }
+
+    private @Nullable FramedPacket cache(VarHandle handle) {
+        @SuppressWarnings("unchecked")
+        SoftReference<FramedPacket> ref = (SoftReference<FramedPacket>) handle.getAcquire(this);
+        return ref != null ? ref.get() : null;
+    }
 }
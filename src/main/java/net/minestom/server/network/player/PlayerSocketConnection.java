@@ -3,6 +3,7 @@ package net.minestom.server.network.player;
 import net.kyori.adventure.translation.GlobalTranslator;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.adventure.MinestomAdventure;
+import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.PlayerSkin;
 import net.minestom.server.event.ListenerHandle;
@@ -12,6 +13,8 @@ import net.minestom.server.network.ConnectionState;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.packet.server.*;
 import net.minestom.server.network.packet.server.login.SetCompressionPacket;
+import net.minestom.server.network.packet.server.play.*;
+import net.minestom.server.network.socket.Server;
 import net.minestom.server.network.socket.Worker;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.binary.BinaryBuffer;
@@ -33,6 +36,8 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SocketChannel;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.DataFormatException;
@@ -75,6 +80,11 @@ public class PlayerSocketConnection extends PlayerConnection {
 
     private final List<BinaryBuffer> waitingBuffers = new ArrayList<>();
     private final AtomicReference<BinaryBuffer> tickBuffer = new AtomicReference<>(PooledBuffers.get());
+    private int waitingBytes; // Readable bytes in waitingBuffers
+    // Writes waiting for a packet being compressed asynchronously, in sending order
+    private final Queue<PendingWrite> pendingWrites = new ArrayDeque<>();
+    private int pendingWriteBytes; // Bytes of the copies queued in pendingWrites
+    private boolean overflowed;
     private volatile BinaryBuffer cacheBuffer;
 
     private final ListenerHandle<PlayerPacketOutEvent> outgoing = MinecraftServer.getGlobalEventHandler().getHandle(PlayerPacketOutEvent.class);
@@ -348,8 +358,27 @@ public class PlayerSocketConnection extends PlayerConnection {
         this.nonce = nonce;
     }
 
+    /**
+     * Gets the number of bytes waiting to be written to the socket.
+     * <p>
+     * Only approximate when not called from the worker thread.
+     *
+     * @return the number of pending bytes
+     */
+    public int getPendingBytes() {
+        return waitingBytes + pendingWriteBytes + tickBuffer.getPlain().readableBytes();
+    }
+
     private void writePacketSync(SendablePacket packet, boolean compressed) {
         if (!channel.isConnected()) return;
+        if (isAboveHighWaterMark()) {
+            final ServerPacket droppable = droppablePacket(packet);
+            if (droppable != null) {
+                // Client is lagging behind, skip packets that will be outdated anyway
+                synchronizeDropped(droppedEntityId(droppable));
+                return;
+            }
+        }
         final Player player = getPlayer();
         // Outgoing event
         if (player != null && outgoing.hasListener()) {
@@ -363,8 +392,9 @@ public class PlayerSocketConnection extends PlayerConnection {
             var buffer = framedPacket.body();
             writeBufferSync0(buffer, 0, buffer.limit());
         } else if (packet instanceof CachedPacket cachedPacket) {
-            var buffer = cachedPacket.body();
-            writeBufferSync0(buffer, buffer.position(), buffer.remaining());
+            // Large packets missing from the cache are written once compressed
+            final ByteBuffer buffer = compressed ? cachedPacket.compressedBody(this::writeAsyncSync) : cachedPacket.body(false);
+            if (buffer != null) writeBufferSync0(buffer, buffer.position(), buffer.remaining());
         } else if (packet instanceof LazyPacket lazyPacket) {
             writeServerPacketSync(lazyPacket.packet(), compressed);
         } else {
@@ -380,7 +410,13 @@ public class PlayerSocketConnection extends PlayerConnection {
                         GlobalTranslator.render(component, Objects.requireNonNullElseGet(player.getLocale(), MinestomAdventure::getDefaultLocale)));
             }
         }
-        var buffer = PacketUtils.createFramedPacket(serverPacket, compressed);
+        final ByteBuffer buffer;
+        if (compressed) {
+            buffer = PacketUtils.createFramedPacket(serverPacket, this::writeAsyncSync);
+            if (buffer == null) return; // Large packet, written once compressed
+        } else {
+            buffer = PacketUtils.createFramedPacket(serverPacket, false);
+        }
         writeBufferSync0(buffer, 0, buffer.limit());
         if (player == null) flushSync(); // Player is probably not logged yet
     }
@@ -390,7 +426,49 @@ public class PlayerSocketConnection extends PlayerConnection {
         writeBufferSync0(buffer, index, length);
     }
 
+    private void writeAsyncSync(CompletableFuture<ByteBuffer> future) {
+        this.pendingWrites.add(new PendingWrite(future, 0));
+        future.whenComplete((buffer, throwable) -> workerQueue.relaxedOffer(this::drainPendingWrites));
+    }
+
+    private void drainPendingWrites() {
+        PendingWrite write;
+        while ((write = pendingWrites.peek()) != null && write.future().isDone()) {
+            this.pendingWrites.poll();
+            this.pendingWriteBytes -= write.copiedBytes();
+            final ByteBuffer buffer;
+            try {
+                buffer = write.future().join();
+            } catch (CompletionException e) {
+                MinecraftServer.getExceptionManager().handleException(e.getCause());
+                this.pendingWrites.clear();
+                this.pendingWriteBytes = 0;
+                disconnect();
+                return;
+            }
+            writeBufferSync1(buffer, 0, buffer.limit());
+        }
+    }
+
     private void writeBufferSync0(@NotNull ByteBuffer buffer, int index, int length) {
+        if (!pendingWrites.isEmpty()) {
+            // Keep the order with the packets being compressed
+            final ByteBuffer copy = ByteBuffer.allocate(length).put(0, buffer, index, length);
+            this.pendingWrites.add(new PendingWrite(CompletableFuture.completedFuture(copy), length));
+            this.pendingWriteBytes += length;
+            return;
+        }
+        writeBufferSync1(buffer, index, length);
+    }
+
+    private void writeBufferSync1(@NotNull ByteBuffer buffer, int index, int length) {
+        if (overflowed) return;
+        if (getPendingBytes() + length > Server.WRITE_HARD_LIMIT) {
+            LOGGER.warn("Connection {} exceeded the write limit ({} pending bytes), disconnecting", remoteAddress, getPendingBytes());
+            this.overflowed = true;
+            disconnect();
+            return;
+        }
         if (encrypted) { // Encryption support
             ByteBuffer output = PooledBuffers.tempBuffer();
             try {
@@ -423,25 +501,37 @@ public class PlayerSocketConnection extends PlayerConnection {
         try {
             if (!channel.isConnected()) throw new ClosedChannelException();
             try {
-                if (waitingBuffers.isEmpty() && tickBuffer.getPlain().writeChannel(channel))
-                    return; // Fast exit if the tick buffer can be reused
-
-                try {
-                    updateLocalBuffer();
-                } catch (OutOfMemoryError e) {
-                    this.waitingBuffers.clear();
-                    System.gc(); // Explicit gc forcing buffers to be collected
-                    throw new ClosedChannelException();
+                final BinaryBuffer localBuffer = tickBuffer.getPlain();
+                if (waitingBuffers.isEmpty()) {
+                    // Fast exit if the tick buffer can be reused
+                    if (localBuffer.writeChannel(channel)) localBuffer.clear();
+                    return;
                 }
-
-                // Write as much as possible from the waiting list
+                // Write as much as possible from all the pending buffers at once
+                final int size = waitingBuffers.size();
+                ByteBuffer[] buffers = new ByteBuffer[size + 1];
+                for (int i = 0; i < size; i++) {
+                    final BinaryBuffer waitingBuffer = waitingBuffers.get(i);
+                    buffers[i] = waitingBuffer.asByteBuffer(waitingBuffer.readerOffset(), waitingBuffer.readableBytes());
+                }
+                buffers[size] = localBuffer.asByteBuffer(localBuffer.readerOffset(), localBuffer.readableBytes());
+                long written = channel.write(buffers);
+                // Release the fully written buffers
                 Iterator<BinaryBuffer> iterator = waitingBuffers.iterator();
-                while (iterator.hasNext()) {
+                while (iterator.hasNext() && written > 0) {
                     BinaryBuffer waitingBuffer = iterator.next();
-                    if (!waitingBuffer.writeChannel(channel)) break;
+                    final int count = (int) Math.min(written, waitingBuffer.readableBytes());
+                    waitingBuffer.readerOffset(waitingBuffer.readerOffset() + count);
+                    this.waitingBytes -= count;
+                    written -= count;
+                    if (waitingBuffer.readableBytes() > 0) break;
                     iterator.remove();
                     PooledBuffers.add(waitingBuffer);
                 }
+                if (written > 0) {
+                    localBuffer.readerOffset(localBuffer.readerOffset() + (int) written);
+                    if (localBuffer.readableBytes() == 0) localBuffer.clear();
+                }
             } catch (IOException e) { // Couldn't write to the socket
                 MinecraftServer.getExceptionManager().handleException(e);
                 throw new ClosedChannelException();
@@ -453,8 +543,86 @@ public class PlayerSocketConnection extends PlayerConnection {
 
     private BinaryBuffer updateLocalBuffer() {
         BinaryBuffer newBuffer = PooledBuffers.get();
-        this.waitingBuffers.add(tickBuffer.getPlain());
+        final BinaryBuffer previous = tickBuffer.getPlain();
+        this.waitingBuffers.add(previous);
+        this.waitingBytes += previous.readableBytes();
         this.tickBuffer.setPlain(newBuffer);
         return newBuffer;
     }
+
+    /**
+     * Gets if the client is lagging behind, in which case droppable packets are not sent.
+     * <p>
+     * Only approximate when not called from the worker thread.
+     *
+     * @return true if more than {@link Server#WRITE_HIGH_WATER_MARK} bytes are waiting to be written
+     * @see #isDroppable(ServerPacket)
+     */
+    @ApiStatus.Internal
+    public boolean isAboveHighWaterMark() {
+        return getPendingBytes() > Server.WRITE_HIGH_WATER_MARK;
+    }
+
+    /**
+     * Gets if a packet can be skipped when the client is lagging behind.
+     *
+     * @param packet the packet to check
+     * @return true if the packet is cosmetic or superseded by the next position synchronization
+     */
+    @ApiStatus.Internal
+    public static boolean isDroppable(@NotNull ServerPacket packet) {
+        // Velocity is not dropped, viewers simulate the movement from the last one received
+        return packet instanceof ParticlePacket ||
+                packet instanceof SoundEffectPacket ||
+                packet instanceof NamedSoundEffectPacket ||
+                packet instanceof EntitySoundEffectPacket ||
+                packet instanceof EntityAnimationPacket ||
+                packet instanceof EntityPositionPacket ||
+                packet instanceof EntityPositionAndRotationPacket ||
+                packet instanceof EntityRotationPacket ||
+                packet instanceof EntityHeadLookPacket;
+    }
+
+    /**
+     * Gets the entity to synchronize once a droppable packet has been skipped.
+     * <p>
+     * Relative moves build on the previous ones, the absolute position must be sent again.
+     *
+     * @param packet the skipped packet
+     * @return the entity id, -1 if the packet does not require any synchronization
+     */
+    @ApiStatus.Internal
+    public static int droppedEntityId(@NotNull ServerPacket packet) {
+        if (packet instanceof EntityPositionPacket positionPacket) return positionPacket.entityId();
+        if (packet instanceof EntityPositionAndRotationPacket positionPacket) return positionPacket.entityId();
+        return -1;
+    }
+
+    /**
+     * Asks the entity returned by {@link #droppedEntityId(ServerPacket)} for a position synchronization.
+     *
+     * @param entityId the entity id, -1 to ignore
+     */
+    @ApiStatus.Internal
+    public static void synchronizeDropped(int entityId) {
+        if (entityId == -1) return;
+        final Entity entity = Entity.getEntity(entityId);
+        if (entity != null) entity.askSynchronization();
+    }
+
+    private static @Nullable ServerPacket droppablePacket(SendablePacket packet) {
+        final ServerPacket serverPacket;
+        if (packet instanceof ServerPacket p) serverPacket = p;
+        else if (packet instanceof FramedPacket framedPacket) serverPacket = framedPacket.packet();
+        else if (packet instanceof CachedPacket cachedPacket) serverPacket = cachedPacket.packet();
+        else if (packet instanceof LazyPacket lazyPacket) serverPacket = lazyPacket.packet();
+        else return null;
+        return isDroppable(serverPacket) ? serverPacket : null;
+    }
+
+    /**
+     * @param copiedBytes size of the buffer copied to keep the order, 0 for packets being compressed
+     */
+    private record PendingWrite(CompletableFuture<ByteBuffer> future, int copiedBytes) {
+    }
 }
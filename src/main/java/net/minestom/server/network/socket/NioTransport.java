@@ -0,0 +1,82 @@
+package net.minestom.server.network.socket;
+
+import net.minestom.server.network.player.PlayerSocketConnection;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+/**
+ * Default {@link Transport} based on {@link Selector}.
+ * <p>
+ * Connections are attached to their selection key to avoid any lookup per readable key.
+ */
+final class NioTransport implements Transport {
+    static final NioTransport INSTANCE = new NioTransport();
+
+    private NioTransport() {
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "nio";
+    }
+
+    @Override
+    public @NotNull Acceptor bind(@NotNull SocketAddress address, @NotNull ProtocolFamily family) throws IOException {
+        ServerSocketChannel server = ServerSocketChannel.open(family);
+        server.bind(address);
+        return new NioAcceptor(server);
+    }
+
+    @Override
+    public @NotNull Poller openPoller() throws IOException {
+        return new NioPoller(Selector.open());
+    }
+
+    private record NioAcceptor(ServerSocketChannel server) implements Acceptor {
+        @Override
+        public @NotNull SocketChannel accept() throws IOException {
+            SocketChannel channel = server.accept();
+            channel.configureBlocking(false);
+            return channel;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.server.close();
+        }
+    }
+
+    private record NioPoller(Selector selector) implements Poller {
+        @Override
+        public void register(@NotNull SocketChannel channel, @NotNull PlayerSocketConnection connection) throws IOException {
+            channel.register(selector, SelectionKey.OP_READ, connection);
+        }
+
+        @Override
+        public void poll(long timeout, @NotNull Consumer<PlayerSocketConnection> readable) throws IOException {
+            this.selector.select(key -> {
+                if (!key.channel().isOpen()) return;
+                if (!key.isReadable()) return;
+                readable.accept((PlayerSocketConnection) key.attachment());
+            }, timeout);
+        }
+
+        @Override
+        public void wakeup() {
+            this.selector.wakeup();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.selector.close();
+        }
+    }
+}
@@ -7,12 +7,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.net.*;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
-import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.nio.file.Files;
-import java.util.Arrays;
 import java.util.List;
 
 public final class Server {
@@ -20,25 +16,40 @@ public final class Server {
     public static final int MAX_PACKET_SIZE = Integer.getInteger("minestom.max-packet-size", 2_097_151); // 3 bytes var-int
     public static final int SOCKET_SEND_BUFFER_SIZE = Integer.getInteger("minestom.send-buffer-size", 262_143);
     public static final int SOCKET_RECEIVE_BUFFER_SIZE = Integer.getInteger("minestom.receive-buffer-size", 32_767);
+    /**
+     * Pending outgoing bytes of a connection after which non-critical packets are dropped.
+     */
+    public static final int WRITE_HIGH_WATER_MARK = Integer.getInteger("minestom.write-high-water-mark", 2_097_152);
+    /**
+     * Pending outgoing bytes of a connection after which it is disconnected.
+     */
+    public static final int WRITE_HARD_LIMIT = Integer.getInteger("minestom.write-hard-limit", 16_777_216);
 
     public static final boolean NO_DELAY = true;
 
     private volatile boolean stop;
 
-    private final Selector selector = Selector.open();
+    private final Transport transport;
     private final PacketProcessor packetProcessor;
     private final List<Worker> workers;
     private int index;
 
-    private ServerSocketChannel serverSocket;
+    private Transport.Acceptor acceptor;
     private SocketAddress socketAddress;
     private String address;
     private int port;
 
     public Server(PacketProcessor packetProcessor) throws IOException {
+        this(packetProcessor, Transport.fromProperty());
+    }
+
+    public Server(PacketProcessor packetProcessor, Transport transport) throws IOException {
+        this.transport = transport;
         this.packetProcessor = packetProcessor;
         Worker[] workers = new Worker[WORKER_COUNT];
-        Arrays.setAll(workers, value -> new Worker(this));
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(this, transport.openPoller());
+        }
         this.workers = List.of(workers);
     }
 
@@ -57,11 +68,7 @@ public final class Server {
             throw new IllegalArgumentException("Address must be an InetSocketAddress or a UnixDomainSocketAddress");
         }
 
-        ServerSocketChannel server = ServerSocketChannel.open(family);
-        server.bind(address);
-        server.configureBlocking(false);
-        server.register(selector, SelectionKey.OP_ACCEPT);
-        this.serverSocket = server;
+        this.acceptor = transport.bind(address, family);
         this.socketAddress = address;
     }
 
@@ -70,21 +77,12 @@ public final class Server {
         this.workers.forEach(Thread::start);
         new Thread(() -> {
             while (!stop) {
-                // Busy wait for connections
                 try {
-                    this.selector.select(key -> {
-                        if (!key.isAcceptable()) return;
-                        try {
-                            // Register socket and forward to thread
-                            Worker worker = findWorker();
-                            final SocketChannel client = serverSocket.accept();
-                            worker.receiveConnection(client);
-                        } catch (IOException e) {
-                            e.printStackTrace();
-                        }
-                    });
+                    // Forward the connection to a worker
+                    final SocketChannel client = acceptor.accept();
+                    findWorker().receiveConnection(client);
                 } catch (IOException e) {
-                    MinecraftServer.getExceptionManager().handleException(e);
+                    if (!stop) MinecraftServer.getExceptionManager().handleException(e);
                 }
             }
         }, "Ms-entrypoint").start();
@@ -97,15 +95,18 @@ public final class Server {
     public void stop() {
         this.stop = true;
         try {
-            this.serverSocket.close();
+            this.acceptor.close();
             if (socketAddress instanceof UnixDomainSocketAddress unixDomainSocketAddress) {
                 Files.deleteIfExists(unixDomainSocketAddress.getPath());
             }
         } catch (IOException e) {
             MinecraftServer.getExceptionManager().handleException(e);
         }
-        this.selector.wakeup();
-        this.workers.forEach(worker -> worker.selector.wakeup());
+        this.workers.forEach(worker -> worker.poller.wakeup());
+    }
+
+    public @NotNull Transport transport() {
+        return transport;
     }
 
     @ApiStatus.Internal
@@ -0,0 +1,103 @@
+package net.minestom.server.network.socket;
+
+import net.minestom.server.network.player.PlayerSocketConnection;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+/**
+ * Provides the socket primitives used by {@link Server} and its {@link Worker workers}.
+ * <p>
+ * The default implementation relies on the JDK {@link java.nio.channels.Selector},
+ * another one (e.g. native epoll) can be selected using the {@code minestom.transport} property
+ * containing the name of a class implementing this interface with a public no-arg constructor.
+ */
+@ApiStatus.Experimental
+public interface Transport {
+    String PROPERTY = "minestom.transport";
+
+    static @NotNull Transport nio() {
+        return NioTransport.INSTANCE;
+    }
+
+    /**
+     * Gets the transport defined by the {@code minestom.transport} property.
+     *
+     * @return the configured transport, {@link #nio()} if none
+     * @throws IllegalStateException if the transport cannot be instantiated
+     */
+    static @NotNull Transport fromProperty() {
+        final String name = System.getProperty(PROPERTY);
+        if (name == null || name.equalsIgnoreCase("nio")) return nio();
+        try {
+            final Class<?> type = Class.forName(name);
+            return (Transport) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Cannot create transport " + name, e);
+        }
+    }
+
+    @NotNull String name();
+
+    /**
+     * Binds a listening socket.
+     *
+     * @param address the address to bind to
+     * @param family  the protocol family of {@code address}
+     * @return the acceptor of the bound socket
+     * @throws IOException if the socket cannot be bound
+     */
+    @NotNull Acceptor bind(@NotNull SocketAddress address, @NotNull ProtocolFamily family) throws IOException;
+
+    /**
+     * Opens a poller, one is created for each {@link Worker}.
+     *
+     * @return a new poller
+     * @throws IOException if the poller cannot be opened
+     */
+    @NotNull Poller openPoller() throws IOException;
+
+    interface Acceptor extends Closeable {
+        /**
+         * Blocks until a connection is accepted.
+         * <p>
+         * Closing the acceptor must unblock this method.
+         *
+         * @return the accepted connection, in non-blocking mode
+         * @throws IOException if the acceptor has been closed
+         */
+        @NotNull SocketChannel accept() throws IOException;
+    }
+
+    /**
+     * Notifies its {@link Worker} about readable connections.
+     * <p>
+     * Only accessed from the worker thread, except for {@link #wakeup()}.
+     */
+    interface Poller extends Closeable {
+        void register(@NotNull SocketChannel channel, @NotNull PlayerSocketConnection connection) throws IOException;
+
+        /**
+         * Waits for readable connections.
+         * <p>
+         * The worker reads once per notification, edge-triggered implementations
+         * have to report a connection again if it still has pending data.
+         *
+         * @param timeout  the maximum wait time in milliseconds
+         * @param readable the consumer of readable connections
+         * @throws IOException if the poller failed
+         */
+        void poll(long timeout, @NotNull Consumer<PlayerSocketConnection> readable) throws IOException;
+
+        /**
+         * Interrupts the current or next {@link #poll(long, Consumer)} call.
+         */
+        void wakeup();
+    }
+}
@@ -13,30 +13,24 @@ import org.jetbrains.annotations.ApiStatus;
 
 import java.io.IOException;
 import java.net.Socket;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @ApiStatus.Internal
 public final class Worker extends MinestomThread {
     private static final AtomicInteger COUNTER = new AtomicInteger();
 
-    final Selector selector;
-    private final Map<SocketChannel, PlayerSocketConnection> connectionMap = new ConcurrentHashMap<>();
+    final Transport.Poller poller;
+    private final List<PlayerSocketConnection> connections = new ArrayList<>(); // Only accessed by this thread
     private final Server server;
     private final MpscUnboundedXaddArrayQueue<Runnable> queue = new MpscUnboundedXaddArrayQueue<>(1024);
 
-    Worker(Server server) {
+    Worker(Server server, Transport.Poller poller) {
         super("Ms-worker-" + COUNTER.getAndIncrement());
         this.server = server;
-        try {
-            this.selector = Selector.open();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        this.poller = poller;
     }
 
     @Override
@@ -50,16 +44,13 @@ public final class Worker extends MinestomThread {
                 }
                 // Flush all connections if needed
                 try {
-                    connectionMap.values().forEach(PlayerSocketConnection::flushSync);
+                    this.connections.forEach(PlayerSocketConnection::flushSync);
                 } catch (Exception e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 }
                 // Wait for an event
-                this.selector.select(key -> {
-                    final SocketChannel channel = (SocketChannel) key.channel();
-                    if (!channel.isOpen()) return;
-                    if (!key.isReadable()) return;
-                    PlayerSocketConnection connection = connectionMap.get(channel);
+                this.poller.poll(MinecraftServer.TICK_MS, connection -> {
+                    final SocketChannel channel = connection.getChannel();
                     try {
                         BinaryBuffer readBuffer = BinaryBuffer.wrap(PooledBuffers.packetBuffer());
                         // Consume last incomplete packet
@@ -74,7 +65,7 @@ public final class Worker extends MinestomThread {
                         MinecraftServer.getExceptionManager().handleException(e);
                         connection.disconnect();
                     }
-                }, MinecraftServer.TICK_MS);
+                });
             } catch (Exception e) {
                 MinecraftServer.getExceptionManager().handleException(e);
             }
@@ -84,7 +75,7 @@ public final class Worker extends MinestomThread {
     public void disconnect(PlayerSocketConnection connection, SocketChannel channel) {
         try {
             channel.close();
-            this.connectionMap.remove(channel);
+            this.connections.remove(connection);
             MinecraftServer.getConnectionManager().removePlayer(connection);
             connection.refreshOnline(false);
             Player player = connection.getPlayer();
@@ -97,15 +88,23 @@ public final class Worker extends MinestomThread {
     }
 
     void receiveConnection(SocketChannel channel) throws IOException {
-        this.connectionMap.put(channel, new PlayerSocketConnection(this, channel, channel.getRemoteAddress()));
-        channel.configureBlocking(false);
-        channel.register(selector, SelectionKey.OP_READ);
         Socket socket = channel.socket();
         socket.setSendBufferSize(Server.SOCKET_SEND_BUFFER_SIZE);
         socket.setReceiveBufferSize(Server.SOCKET_RECEIVE_BUFFER_SIZE);
         socket.setTcpNoDelay(Server.NO_DELAY);
         socket.setSoTimeout(30 * 1000); // 30 seconds
-        this.selector.wakeup();
+        PlayerSocketConnection connection = new PlayerSocketConnection(this, channel, channel.getRemoteAddress());
+        // Register from the worker thread, the connection list is not thread-safe
+        this.queue.relaxedOffer(() -> {
+            try {
+                this.poller.register(channel, connection);
+                this.connections.add(connection);
+            } catch (IOException e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+                disconnect(connection, channel);
+            }
+        });
+        this.poller.wakeup();
     }
 
     public MessagePassingQueue<Runnable> queue() {
@@ -3,6 +3,7 @@ package net.minestom.server.registry;
 import com.google.gson.ToNumberPolicy;
 import com.google.gson.stream.JsonReader;
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.collision.BlockShape;
 import net.minestom.server.entity.EntitySpawnType;
 import net.minestom.server.entity.EquipmentSlot;
 import net.minestom.server.instance.block.Block;
@@ -14,17 +15,23 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URL;
 import java.util.*;
 import java.util.function.Supplier;
+import java.util.jar.JarEntry;
 
 /**
  * Handles registry data, used by {@link ProtocolObject} implementations and is strictly internal.
  * Use at your own risk.
  */
 public final class Registry {
+    private static final boolean SNAPSHOTS = !Boolean.getBoolean("minestom.registry.disable-snapshots");
+
     @ApiStatus.Internal
     public static BlockEntry block(String namespace, @NotNull Properties main) {
         return new BlockEntry(namespace, main, null);
@@ -52,16 +59,68 @@ public final class Registry {
 
     @ApiStatus.Internal
     public static Map<String, Map<String, Object>> load(Resource resource) {
-        Map<String, Map<String, Object>> map = new HashMap<>();
-        try (InputStream resourceStream = Registry.class.getClassLoader().getResourceAsStream(resource.name)) {
-            Check.notNull(resourceStream, "Resource {0} does not exist!", resource);
-            try (JsonReader reader = new JsonReader(new InputStreamReader(resourceStream))) {
-                reader.beginObject();
-                while (reader.hasNext()) map.put(reader.nextName(), (Map<String, Object>) readObject(reader));
-                reader.endObject();
+        // Prefer the binary snapshot generated at build time, skipping json reading and parsing
+        if (SNAPSHOTS) {
+            Map<String, Map<String, Object>> snapshot = null;
+            try {
+                snapshot = loadSnapshot(resource, sourceHash(resource));
+            } catch (IOException e) {
+                MinecraftServer.getExceptionManager().handleException(e);
             }
+            if (snapshot != null) return snapshot;
+        }
+        try {
+            return loadJson(readJson(resource));
         } catch (IOException e) {
             MinecraftServer.getExceptionManager().handleException(e);
+            return new HashMap<>();
+        }
+    }
+
+    static byte[] readJson(Resource resource) throws IOException {
+        try (InputStream resourceStream = Registry.class.getClassLoader().getResourceAsStream(resource.name)) {
+            Check.notNull(resourceStream, "Resource {0} does not exist!", resource);
+            return resourceStream.readAllBytes();
+        }
+    }
+
+    /**
+     * Gets the {@link RegistrySnapshot#hash(byte[])} of a json resource.
+     * <p>
+     * Resources packaged in a jar use the CRC32 computed when the jar was built, without reading the file.
+     */
+    static int sourceHash(Resource resource) throws IOException {
+        final URL url = Registry.class.getClassLoader().getResource(resource.name);
+        Check.notNull(url, "Resource {0} does not exist!", resource);
+        if (url.openConnection() instanceof JarURLConnection jarConnection) {
+            final JarEntry entry = jarConnection.getJarEntry();
+            if (entry != null && entry.getCrc() != -1) return (int) entry.getCrc();
+        }
+        return RegistrySnapshot.hash(readJson(resource));
+    }
+
+    /**
+     * Reads the snapshot of a resource.
+     *
+     * @param sourceHash the {@link #sourceHash(Resource)} of the json resource
+     * @return the snapshot content, null if missing, invalid or generated from another version of the json resource
+     */
+    static @Nullable Map<String, Map<String, Object>> loadSnapshot(Resource resource, int sourceHash) {
+        try (InputStream snapshotStream = Registry.class.getClassLoader().getResourceAsStream(resource.snapshotName)) {
+            if (snapshotStream == null) return null;
+            return RegistrySnapshot.read(snapshotStream.readAllBytes(), sourceHash);
+        } catch (IOException | IllegalArgumentException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return null;
+        }
+    }
+
+    static Map<String, Map<String, Object>> loadJson(byte[] json) throws IOException {
+        Map<String, Map<String, Object>> map = new HashMap<>();
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(json)))) {
+            reader.beginObject();
+            while (reader.hasNext()) map.put(reader.nextName(), (Map<String, Object>) readObject(reader));
+            reader.endObject();
         }
         return map;
     }
@@ -142,9 +201,11 @@ public final class Registry {
         ITEM_TAGS("tags/item_tags.json");
 
         private final String name;
+        private final String snapshotName;
 
         Resource(String name) {
             this.name = name;
+            this.snapshotName = "registry/" + name.substring(0, name.length() - ".json".length()) + ".bin";
         }
     }
 
@@ -161,6 +222,9 @@ public final class Registry {
         private final boolean air;
         private final boolean solid;
         private final boolean liquid;
+        private final int lightEmission;
+        private final boolean occludes;
+        private final BlockShape collisionShape;
         private final String blockEntity;
         private final int blockEntityId;
         private final Supplier<Material> materialSupplier;
@@ -180,6 +244,10 @@ public final class Registry {
             this.air = main.getBoolean("air", false);
             this.solid = main.getBoolean("solid");
             this.liquid = main.getBoolean("liquid", false);
+            this.lightEmission = main.getInt("lightEmission", 0);
+            this.occludes = main.getBoolean("occludes", solid);
+            this.collisionShape = BlockShape.parse(main.getString("collisionShape", null),
+                    solid ? BlockShape.FULL_BLOCK : BlockShape.EMPTY);
             {
                 Properties blockEntity = main.section("blockEntity");
                 if (blockEntity != null) {
@@ -244,6 +312,18 @@ public final class Registry {
             return liquid;
         }
 
+        public int lightEmission() {
+            return lightEmission;
+        }
+
+        public boolean occludes() {
+            return occludes;
+        }
+
+        public @NotNull BlockShape collisionShape() {
+            return collisionShape;
+        }
+
         public boolean isBlockEntity() {
             return blockEntity != null;
         }
@@ -0,0 +1,124 @@
+package net.minestom.server.registry;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Reads the binary registry snapshots generated by the {@code RegistrySnapshotGenerator} of the code generators,
+ * see its documentation for the format.
+ * <p>
+ * The produced values are identical to the ones parsed from json (longs, doubles, strings, lists and maps),
+ * but strings are only decoded once and shared between all the entries.
+ */
+final class RegistrySnapshot {
+    private static final int MAGIC = 0x4D535247;
+    private static final byte VERSION = 2;
+
+    private static final byte NULL = 0, FALSE = 1, TRUE = 2, LONG = 3, DOUBLE = 4, STRING = 5, LIST = 6, MAP = 7;
+
+    private final ByteBuffer buffer;
+    private final int sourceHash;
+    private final String[] strings;
+
+    private RegistrySnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt() != MAGIC) throw new IllegalArgumentException("Invalid registry snapshot");
+        final byte version = buffer.get();
+        if (version != VERSION)
+            throw new IllegalArgumentException("Unsupported registry snapshot version: " + version);
+        this.sourceHash = buffer.getInt();
+        final byte[] array = buffer.array();
+        String[] strings = new String[readVarInt()];
+        for (int i = 0; i < strings.length; i++) {
+            final int length = readVarInt();
+            final int position = buffer.position();
+            strings[i] = new String(array, buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+            buffer.position(position + length);
+        }
+        this.strings = strings;
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param bytes      the snapshot content
+     * @param sourceHash the {@link #hash(byte[])} of the json file the snapshot should have been generated from
+     * @return the root value, in the same form as {@link Registry#load(Registry.Resource)},
+     * null if the snapshot has been generated from a different json file
+     * @throws IllegalArgumentException if the snapshot is invalid
+     */
+    @SuppressWarnings("unchecked")
+    static @Nullable Map<String, Map<String, Object>> read(byte @NotNull [] bytes, int sourceHash) {
+        try {
+            RegistrySnapshot snapshot = new RegistrySnapshot(ByteBuffer.wrap(bytes));
+            if (snapshot.sourceHash != sourceHash) return null;
+            return (Map<String, Map<String, Object>>) snapshot.readValue();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | ClassCastException e) {
+            throw new IllegalArgumentException("Invalid registry snapshot", e);
+        }
+    }
+
+    /**
+     * Hashes a json file the same way as the snapshot generator.
+     */
+    static int hash(byte @NotNull [] json) {
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        return (int) crc.getValue();
+    }
+
+    private Object readValue() {
+        final byte type = buffer.get();
+        return switch (type) {
+            case NULL -> null;
+            case FALSE -> false;
+            case TRUE -> true;
+            case LONG -> {
+                final long value = readVarLong();
+                yield (value >>> 1) ^ -(value & 1);
+            }
+            case DOUBLE -> buffer.getDouble();
+            case STRING -> strings[readVarInt()];
+            case LIST -> {
+                final int size = readVarInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(readValue());
+                yield list;
+            }
+            case MAP -> {
+                final int size = readVarInt();
+                Map<String, Object> map = new HashMap<>((int) (size / 0.75f) + 1);
+                for (int i = 0; i < size; i++) {
+                    final String key = strings[readVarInt()];
+                    map.put(key, readValue());
+                }
+                yield map;
+            }
+            default -> throw new IllegalArgumentException("Invalid value type: " + type);
+        };
+    }
+
+    private int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    private long readVarLong() {
+        final ByteBuffer buffer = this.buffer;
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalArgumentException("VarLong is too big");
+    }
+}
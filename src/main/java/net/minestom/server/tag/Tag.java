@@ -63,15 +63,35 @@ public class Tag<T> {
     private final Function<NBTCompoundLike, T> readFunction;
     private final BiConsumer<MutableNBTCompound, T> writeConsumer;
     private final Supplier<T> defaultValue;
+    /**
+     * Type of the immutable values of this tag, allowing handlers to store them without serialization.
+     * Null if values have to be serialized (mapped, structure, etc...).
+     */
+    final Class<?> type;
 
-    protected Tag(@Nullable String key,
-                  @NotNull Function<NBTCompoundLike, T> readFunction,
-                  @NotNull BiConsumer<MutableNBTCompound, T> writeConsumer,
-                  @Nullable Supplier<T> defaultValue) {
+    private Tag(@Nullable String key,
+                @NotNull Function<NBTCompoundLike, T> readFunction,
+                @NotNull BiConsumer<MutableNBTCompound, T> writeConsumer,
+                @Nullable Supplier<T> defaultValue, @Nullable Class<?> type) {
         this.key = key;
         this.readFunction = readFunction;
         this.writeConsumer = writeConsumer;
         this.defaultValue = defaultValue;
+        this.type = type;
+    }
+
+    private Tag(@NotNull String key,
+                @NotNull Function<NBTCompoundLike, T> readFunction,
+                @NotNull BiConsumer<MutableNBTCompound, T> writeConsumer,
+                @NotNull Class<?> type) {
+        this(key, readFunction, writeConsumer, null, type);
+    }
+
+    protected Tag(@Nullable String key,
+                  @NotNull Function<NBTCompoundLike, T> readFunction,
+                  @NotNull BiConsumer<MutableNBTCompound, T> writeConsumer,
+                  @Nullable Supplier<T> defaultValue) {
+        this(key, readFunction, writeConsumer, defaultValue, null);
     }
 
     protected Tag(@Nullable String key,
@@ -93,7 +113,7 @@ public class Tag<T> {
 
     @Contract(value = "_ -> new", pure = true)
     public Tag<T> defaultValue(@NotNull Supplier<T> defaultValue) {
-        return new Tag<>(key, readFunction, writeConsumer, defaultValue);
+        return new Tag<>(key, readFunction, writeConsumer, defaultValue, type);
     }
 
     @Contract(value = "_ -> new", pure = true)
@@ -130,13 +150,15 @@ public class Tag<T> {
 
     public @Nullable T read(@NotNull NBTCompoundLike nbtCompound) {
         T result = readFunction.apply(nbtCompound);
-        if (result == null) {
-            final var supplier = defaultValue;
-            result = supplier != null ? supplier.get() : null;
-        }
+        if (result == null) result = createDefault();
         return result;
     }
 
+    @Nullable T createDefault() {
+        final var supplier = defaultValue;
+        return supplier != null ? supplier.get() : null;
+    }
+
     public void write(@NotNull MutableNBTCompound nbtCompound, @Nullable T value) {
         if (key == null || value != null) {
             this.writeConsumer.accept(nbtCompound, value);
@@ -153,50 +175,58 @@ public class Tag<T> {
     public static @NotNull Tag<Byte> Byte(@NotNull String key) {
         return new Tag<>(key,
                 nbtCompound -> nbtCompound.getByte(key),
-                (nbtCompound, value) -> nbtCompound.setByte(key, value));
+                (nbtCompound, value) -> nbtCompound.setByte(key, value),
+                Byte.class);
     }
 
     public static @NotNull Tag<Short> Short(@NotNull String key) {
         return new Tag<>(key,
                 nbtCompound -> nbtCompound.getShort(key),
-                (nbtCompound, value) -> nbtCompound.setShort(key, value));
+                (nbtCompound, value) -> nbtCompound.setShort(key, value),
+                Short.class);
     }
 
     public static @NotNull Tag<Integer> Integer(@NotNull String key) {
         return new Tag<>(key,
                 nbtCompound -> nbtCompound.getInt(key),
-                (nbtCompound, integer) -> nbtCompound.setInt(key, integer));
+                (nbtCompound, integer) -> nbtCompound.setInt(key, integer),
+                Integer.class);
     }
 
     public static @NotNull Tag<Long> Long(@NotNull String key) {
         return new Tag<>(key,
                 nbtCompound -> nbtCompound.getLong(key),
-                (nbtCompound, value) -> nbtCompound.setLong(key, value));
+                (nbtCompound, value) -> nbtCompound.setLong(key, value),
+                Long.class);
     }
 
     public static @NotNull Tag<Float> Float(@NotNull String key) {
         return new Tag<>(key,
                 nbtCompound -> nbtCompound.getFloat(key),
-                (nbtCompound, value) -> nbtCompound.setFloat(key, value));
+                (nbtCompound, value) -> nbtCompound.setFloat(key, value),
+                Float.class);
     }
 
     public static @NotNull Tag<Double> Double(@NotNull String key) {
         return new Tag<>(key,
                 nbtCompound -> nbtCompound.getDouble(key),
-                (nbtCompound, value) -> nbtCompound.setDouble(key, value));
+                (nbtCompound, value) -> nbtCompound.setDouble(key, value),
+                Double.class);
     }
 
     public static @NotNull Tag<String> String(@NotNull String key) {
         return new Tag<>(key,
                 nbtCompound -> nbtCompound.getString(key),
-                (nbtCompound, value) -> nbtCompound.setString(key, value));
+                (nbtCompound, value) -> nbtCompound.setString(key, value),
+                String.class);
     }
 
     public static <T extends NBT> @NotNull Tag<T> NBT(@NotNull String key) {
         //noinspection unchecked
         return new Tag<>(key,
                 nbt -> (T) nbt.get(key),
-                ((nbt, value) -> nbt.set(key, value)));
+                ((nbt, value) -> nbt.set(key, value)),
+                NBT.class);
     }
 
     /**
@@ -11,6 +11,17 @@ import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 @ApiStatus.Experimental
 public interface TagHandler extends TagReadable, TagWritable {
 
+    /**
+     * Creates a thread-safe tag handler only storing the values of the tags set on it.
+     * <p>
+     * Reading a tag does not involve any nbt conversion as long as it is read with the same type it was written with.
+     *
+     * @return a new empty tag handler
+     */
+    static @NotNull TagHandler newHandler() {
+        return new TagHandlerImpl();
+    }
+
     /**
      * Converts a nbt compound to a tag handler.
      * <p>
@@ -0,0 +1,159 @@
+package net.minestom.server.tag;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTCompoundLike;
+import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
+
+import java.util.Arrays;
+
+/**
+ * Stores the tag values of this handler in an array sorted by key hash.
+ * <p>
+ * Immutable values (numbers, strings and nbt) are stored as-is and returned without any conversion,
+ * others are serialized on write. The nbt compound is only built when required
+ * (e.g. {@link Tag#NBT}, {@link Tag#View(TagSerializer)}).
+ * <p>
+ * Writes are synchronized, reads are lock-free.
+ */
+final class TagHandlerImpl implements TagHandler {
+    private static final Entries EMPTY = new Entries(new int[0], new Entry[0]);
+
+    private volatile Entries entries = EMPTY;
+
+    @Override
+    public <T> @Nullable T getTag(@NotNull Tag<T> tag) {
+        final String key = tag.getKey();
+        if (key == null) {
+            // Read the whole compound
+            return tag.read(asCompound());
+        }
+        final Entry<?> entry = entries.get(key);
+        if (entry == null) return tag.createDefault();
+        if (tag.type != null && entry.tag.type == tag.type) {
+            //noinspection unchecked
+            return (T) entry.value;
+        }
+        // Different representation, convert using nbt
+        MutableNBTCompound compound = new MutableNBTCompound();
+        compound.set(key, entry.nbt());
+        return tag.read(compound);
+    }
+
+    @Override
+    public synchronized <T> void setTag(@NotNull Tag<T> tag, @Nullable T value) {
+        final String key = tag.getKey();
+        if (key == null) {
+            MutableNBTCompound compound = asCompound();
+            tag.write(compound, value);
+            updateCompound(compound);
+            return;
+        }
+        final Entries entries = this.entries;
+        final int index = entries.indexOf(key);
+        final Entry<?> entry;
+        if (value == null) {
+            entry = null;
+        } else if (tag.type != null) {
+            entry = new Entry<>(tag, value);
+        } else {
+            // Serialize mutable values, the tag may also merge with the previous value
+            MutableNBTCompound compound = new MutableNBTCompound();
+            if (index >= 0) compound.set(key, entries.values[index].nbt());
+            tag.write(compound, value);
+            final NBT nbt = compound.get(key);
+            entry = nbt != null ? new Entry<>(Tag.NBT(key), nbt) : null;
+        }
+        if (index >= 0) {
+            if (entry != null) {
+                entries.values[index] = entry;
+            } else {
+                this.entries = entries.without(index);
+            }
+        } else if (entry != null) {
+            this.entries = entries.with(key, entry);
+        }
+    }
+
+    /**
+     * Serializes all the tags.
+     *
+     * @return a new compound containing all the tags
+     */
+    synchronized @NotNull MutableNBTCompound asCompound() {
+        MutableNBTCompound compound = new MutableNBTCompound();
+        for (Entry<?> entry : entries.values) {
+            compound.set(entry.tag.getKey(), entry.nbt());
+        }
+        return compound;
+    }
+
+    private void updateCompound(NBTCompoundLike compound) {
+        Entries entries = EMPTY;
+        for (String key : compound.getKeys()) {
+            entries = entries.with(key, new Entry<>(Tag.NBT(key), compound.get(key)));
+        }
+        this.entries = entries;
+    }
+
+    /**
+     * @param hashes sorted hash codes of the keys
+     * @param values entries in the same order as their key hash
+     */
+    private record Entries(int[] hashes, Entry<?>[] values) {
+        @Nullable Entry<?> get(String key) {
+            final int index = indexOf(key);
+            return index >= 0 ? values[index] : null;
+        }
+
+        int indexOf(String key) {
+            final int hash = key.hashCode();
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) return -1;
+            // Check all the keys with the same hash
+            while (index > 0 && hashes[index - 1] == hash) index--;
+            for (; index < hashes.length && hashes[index] == hash; index++) {
+                if (key.equals(values[index].tag.getKey())) return index;
+            }
+            return -1;
+        }
+
+        Entries with(String key, Entry<?> entry) {
+            final int hash = key.hashCode();
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) index = -index - 1;
+            final int length = hashes.length;
+            int[] hashes = new int[length + 1];
+            Entry<?>[] values = new Entry[length + 1];
+            System.arraycopy(this.hashes, 0, hashes, 0, index);
+            System.arraycopy(this.values, 0, values, 0, index);
+            hashes[index] = hash;
+            values[index] = entry;
+            System.arraycopy(this.hashes, index, hashes, index + 1, length - index);
+            System.arraycopy(this.values, index, values, index + 1, length - index);
+            return new Entries(hashes, values);
+        }
+
+        Entries without(int index) {
+            final int length = hashes.length;
+            if (length == 1) return EMPTY;
+            int[] hashes = new int[length - 1];
+            Entry<?>[] values = new Entry[length - 1];
+            System.arraycopy(this.hashes, 0, hashes, 0, index);
+            System.arraycopy(this.values, 0, values, 0, index);
+            System.arraycopy(this.hashes, index + 1, hashes, index, length - index - 1);
+            System.arraycopy(this.values, index + 1, values, index, length - index - 1);
+            return new Entries(hashes, values);
+        }
+    }
+
+    private record Entry<T>(Tag<T> tag, T value) {
+        NBT nbt() {
+            if (value instanceof NBT nbt) return nbt;
+            MutableNBTCompound compound = new MutableNBTCompound();
+            tag.write(compound, value);
+            return compound.get(tag.getKey());
+        }
+    }
+}
@@ -76,7 +76,7 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
      * @see #sync(Consumer) for auto-closeable capability
      */
     default @NotNull Acquired<T> lock() {
-        return new Acquired<>(unwrap(), assignedThread());
+        return new Acquired<>(unwrap(), this);
     }
 
     /**
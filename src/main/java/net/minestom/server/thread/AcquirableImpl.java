@@ -47,6 +47,16 @@ final class AcquirableImpl<T> implements Acquirable<T> {
         ASSIGNED_THREAD.setRelease(this, thread);
     }
 
+    static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @NotNull Acquirable<?> acquirable) {
+        while (true) {
+            final TickThread elementThread = acquirable.assignedThread();
+            final ReentrantLock lock = enter(currentThread, elementThread);
+            // The element may have been stolen by another thread while waiting
+            if (acquirable.assignedThread() == elementThread) return lock;
+            leave(lock);
+        }
+    }
+
     static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @Nullable TickThread elementThread) {
         if (elementThread == null) return null;
         if (currentThread == elementThread) return null;
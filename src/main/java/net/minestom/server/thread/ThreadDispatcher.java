@@ -18,6 +18,9 @@ import java.util.concurrent.CountDownLatch;
 public final class ThreadDispatcher<P> {
     private final ThreadProvider<P> provider;
     private final List<TickThread> threads;
+    // Thread index -> threads to steal from, starting from the next one to spread thieves
+    private final List<List<TickThread>> victims;
+    private volatile boolean workStealing;
 
     // Partition -> dispatching context
     // Defines how computation is dispatched to the threads
@@ -35,6 +38,13 @@ public final class ThreadDispatcher<P> {
         TickThread[] threads = new TickThread[threadCount];
         Arrays.setAll(threads, TickThread::new);
         this.threads = List.of(threads);
+        List<List<TickThread>> victims = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            List<TickThread> others = new ArrayList<>(threadCount - 1);
+            for (int j = 1; j < threadCount; j++) others.add(threads[(i + j) % threadCount]);
+            victims.add(List.copyOf(others));
+        }
+        this.victims = List.copyOf(victims);
         this.threads.forEach(Thread::start);
     }
 
@@ -51,6 +61,40 @@ public final class ThreadDispatcher<P> {
         return threads;
     }
 
+    /**
+     * Enables work stealing, where threads done with their own partitions
+     * tick the remaining ones of other threads during the same tick.
+     * <p>
+     * A partition is still ticked by a single thread, and is moved to the thread which stole it.
+     *
+     * @param workStealing true to enable work stealing
+     */
+    public void enableWorkStealing(boolean workStealing) {
+        this.workStealing = workStealing;
+    }
+
+    public boolean hasEnabledWorkStealing() {
+        return workStealing;
+    }
+
+    /**
+     * Gets the ratio between the busiest thread tick time and the average one during the last tick.
+     * <p>
+     * 1 means that the load is perfectly balanced, {@link #threads()} size that a single thread did all the work.
+     *
+     * @return the imbalance ratio of the last tick
+     * @see TickThread#getBusyNanos()
+     */
+    public double getImbalance() {
+        long max = 0, total = 0;
+        for (TickThread thread : threads) {
+            final long busy = thread.getBusyNanos();
+            max = Math.max(max, busy);
+            total += busy;
+        }
+        return total == 0 ? 1 : (double) max * threads.size() / total;
+    }
+
     /**
      * Prepares the update by creating the {@link TickThread} tasks.
      *
@@ -72,6 +116,10 @@ public final class ThreadDispatcher<P> {
             }
         });
         // Tick all partitions
+        final boolean workStealing = this.workStealing;
+        for (int i = 0; i < threads.size(); i++) {
+            threads.get(i).prepareTick(workStealing ? victims.get(i) : null);
+        }
         CountDownLatch latch = new CountDownLatch(threads.size());
         for (TickThread thread : threads) thread.startTick(latch, time);
         try {
@@ -79,6 +127,22 @@ public final class ThreadDispatcher<P> {
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
+        if (workStealing) {
+            // Move stolen partitions to their new thread
+            List<Partition> stolen = new ArrayList<>();
+            for (TickThread thread : threads) {
+                if (thread.getStolenCount() == 0) continue;
+                for (TickThread victim : threads) {
+                    victim.entries().removeIf(partition -> {
+                        if (partition.thread == victim) return false;
+                        stolen.add(partition);
+                        return true;
+                    });
+                }
+                break;
+            }
+            for (Partition partition : stolen) partition.thread.entries().add(partition);
+        }
     }
 
     /**
@@ -104,7 +168,7 @@ public final class ThreadDispatcher<P> {
                     final TickThread previous = partitionEntry.thread;
                     final TickThread next = retrieveThread(partition);
                     if (next != previous) {
-                        partitionEntry.thread = next;
+                        partitionEntry.updateThread(next);
                         previous.entries().remove(partitionEntry);
                         next.entries().add(partitionEntry);
                     }
@@ -114,6 +178,7 @@ public final class ThreadDispatcher<P> {
                     }
                 }
             }
+            case BALANCED -> balanceThreads(nanoTimeout);
         }
     }
 
@@ -146,6 +211,47 @@ public final class ThreadDispatcher<P> {
         this.threads.forEach(TickThread::shutdown);
     }
 
+    /**
+     * Moves partitions from the busiest thread to the least busy one
+     * as long as it reduces the maximum thread load.
+     */
+    private void balanceThreads(long nanoTimeout) {
+        final int threadCount = threads.size();
+        if (threadCount < 2) return;
+        final long currentTime = System.nanoTime();
+        long[] loads = new long[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            for (Partition partition : threads.get(i).entries()) loads[i] += partition.tickNanos;
+        }
+        // Every move reduces the maximum, bound the iterations in case of equal loads
+        for (int iteration = 0; iteration < partitions.size(); iteration++) {
+            int max = 0, min = 0;
+            for (int i = 1; i < threadCount; i++) {
+                if (loads[i] > loads[max]) max = i;
+                if (loads[i] < loads[min]) min = i;
+            }
+            final long difference = loads[max] - loads[min];
+            // Ignore small differences to avoid moving partitions back and forth due to noise
+            if (difference <= loads[max] / 10) break;
+            // Moving the partition closest to half the difference balances both threads best
+            final long target = difference / 2;
+            Partition best = null;
+            for (Partition partition : threads.get(max).entries()) {
+                final long cost = partition.tickNanos;
+                if (cost <= 0 || cost >= difference) continue;
+                if (best == null || Math.abs(cost - target) < Math.abs(best.tickNanos - target)) best = partition;
+            }
+            if (best == null) break;
+            final TickThread next = threads.get(min);
+            threads.get(max).entries().remove(best);
+            next.entries().add(best);
+            best.updateThread(next);
+            loads[max] -= best.tickNanos;
+            loads[min] += best.tickNanos;
+            if (System.nanoTime() - currentTime >= nanoTimeout) break;
+        }
+    }
+
     private TickThread retrieveThread(P partition) {
         final int threadId = provider.findThread(partition);
         final int index = Math.abs(threadId) % threads.size();
@@ -209,6 +315,7 @@ public final class ThreadDispatcher<P> {
     public static final class Partition {
         private TickThread thread;
         private final List<Tickable> elements = new ArrayList<>();
+        private volatile long tickNanos;
 
         private Partition(TickThread thread) {
             this.thread = thread;
@@ -221,6 +328,29 @@ public final class ThreadDispatcher<P> {
         public @NotNull List<Tickable> elements() {
             return elements;
         }
+
+        /**
+         * Gets the smoothed time spent ticking the partition elements.
+         *
+         * @return the tick time in nanoseconds
+         */
+        public long tickNanos() {
+            return tickNanos;
+        }
+
+        void recordTick(long nanos) {
+            final long previous = this.tickNanos;
+            this.tickNanos = previous == 0 ? nanos : (previous * 3 + nanos) / 4;
+        }
+
+        void updateThread(TickThread thread) {
+            this.thread = thread;
+            for (Tickable element : elements) {
+                if (element instanceof Entity entity) {
+                    ((AcquirableImpl<?>) entity.getAcquirable()).updateThread(thread);
+                }
+            }
+        }
     }
 
     @ApiStatus.Internal
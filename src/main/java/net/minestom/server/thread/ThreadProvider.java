@@ -19,6 +19,29 @@ public interface ThreadProvider<T> {
         };
     }
 
+    /**
+     * Creates a provider placing new partitions using a counter,
+     * then moving them between threads based on their measured tick time.
+     *
+     * @return a load balanced provider
+     * @see RefreshType#BALANCED
+     */
+    static <T> @NotNull ThreadProvider<T> balanced() {
+        return new ThreadProvider<>() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public int findThread(@NotNull T partition) {
+                return counter.getAndIncrement();
+            }
+
+            @Override
+            public @NotNull RefreshType refreshType() {
+                return RefreshType.BALANCED;
+            }
+        };
+    }
+
     /**
      * Performs a server tick for all chunks based on their linked thread.
      *
@@ -50,6 +73,13 @@ public interface ThreadProvider<T> {
          * <p>
          * Means that {@link #findThread(Object)} may be called multiple time for each partition.
          */
-        ALWAYS
+        ALWAYS,
+        /**
+         * Thread is updated to minimize the tick time of the busiest thread.
+         * <p>
+         * Means that {@link #findThread(Object)} will only be called once for each partition,
+         * which may then be moved to the least busy thread.
+         */
+        BALANCED
     }
 }
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -28,6 +29,16 @@ public final class TickThread extends MinestomThread {
     private long tickTime;
     private final List<ThreadDispatcher.Partition> entries = new ArrayList<>();
 
+    // Partitions to tick during the current tick, claimed by index
+    private ThreadDispatcher.Partition[] tickEntries = new ThreadDispatcher.Partition[0];
+    private final AtomicInteger tickIndex = new AtomicInteger();
+    // Threads to steal from once done, null if work stealing is disabled
+    private List<TickThread> victims;
+
+    // Metrics of the last tick
+    private volatile long busyNanos;
+    private volatile int stolenCount;
+
     public TickThread(int number) {
         super(MinecraftServer.THREAD_NAME_TICK + "-" + number);
     }
@@ -50,27 +61,88 @@ public final class TickThread extends MinestomThread {
     }
 
     private void tick() {
-        for (ThreadDispatcher.Partition entry : entries) {
-            final List<Tickable> elements = entry.elements();
-            if (elements.isEmpty()) continue;
-            for (Tickable element : elements) {
-                if (lock.hasQueuedThreads()) {
-                    this.lock.unlock();
-                    // #acquire() callbacks should be called here
-                    this.lock.lock();
-                }
-                try {
-                    element.tick(tickTime);
-                } catch (Throwable e) {
-                    MinecraftServer.getExceptionManager().handleException(e);
+        final long start = System.nanoTime();
+        ThreadDispatcher.Partition entry;
+        while ((entry = claim()) != null) tickPartition(entry);
+        int stolen = 0;
+        final List<TickThread> victims = this.victims;
+        if (victims != null) {
+            for (TickThread victim : victims) {
+                while ((entry = steal(victim)) != null) {
+                    tickPartition(entry);
+                    stolen++;
                 }
             }
         }
+        this.stolenCount = stolen;
+        this.busyNanos = System.nanoTime() - start;
+    }
+
+    private void tickPartition(ThreadDispatcher.Partition entry) {
+        final List<Tickable> elements = entry.elements();
+        if (elements.isEmpty()) {
+            entry.recordTick(0);
+            return;
+        }
+        final long start = System.nanoTime();
+        for (Tickable element : elements) {
+            if (lock.hasQueuedThreads()) {
+                this.lock.unlock();
+                // #acquire() callbacks should be called here
+                this.lock.lock();
+            }
+            try {
+                element.tick(tickTime);
+            } catch (Throwable e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+        entry.recordTick(System.nanoTime() - start);
+    }
+
+    /**
+     * Claims the next partition to tick, either by this thread or by a thief.
+     * Ensures that each partition is ticked by a single thread.
+     */
+    private ThreadDispatcher.Partition claim() {
+        final int index = tickIndex.getAndIncrement();
+        final ThreadDispatcher.Partition[] entries = this.tickEntries;
+        return index < entries.length ? entries[index] : null;
+    }
+
+    /**
+     * Claims a partition of {@code victim} and assigns it to this thread.
+     * <p>
+     * Done while holding the victim lock the same way as {@link Acquirable#lock()},
+     * threads having acquired an element of the partition through the victim are done before it gets moved.
+     */
+    private ThreadDispatcher.Partition steal(TickThread victim) {
+        if (!victim.hasRemaining()) return null;
+        final ReentrantLock victimLock = AcquirableImpl.enter(this, victim);
+        try {
+            final ThreadDispatcher.Partition entry = victim.claim();
+            if (entry != null) entry.updateThread(this);
+            return entry;
+        } finally {
+            AcquirableImpl.leave(victimLock);
+        }
+    }
+
+    private boolean hasRemaining() {
+        return tickIndex.get() < tickEntries.length;
+    }
+
+    void prepareTick(List<TickThread> victims) {
+        this.tickEntries = entries.toArray(ThreadDispatcher.Partition[]::new);
+        this.victims = victims;
+        this.tickIndex.set(0); // Publish the entries to thieves
     }
 
     void startTick(CountDownLatch latch, long tickTime) {
-        if (entries.isEmpty()) {
+        if (entries.isEmpty() && victims == null) {
             // Nothing to tick
+            this.busyNanos = 0;
+            this.stolenCount = 0;
             latch.countDown();
             return;
         }
@@ -84,6 +156,24 @@ public final class TickThread extends MinestomThread {
         return entries;
     }
 
+    /**
+     * Gets the time spent ticking partitions during the last tick, including stolen ones.
+     *
+     * @return the busy time in nanoseconds
+     */
+    public long getBusyNanos() {
+        return busyNanos;
+    }
+
+    /**
+     * Gets the number of partitions stolen from other threads during the last tick.
+     *
+     * @return the number of stolen partitions
+     */
+    public int getStolenCount() {
+        return stolenCount;
+    }
+
     /**
      * Gets the lock used to ensure the safety of entity acquisition.
      *
@@ -1,38 +1,36 @@
 package net.minestom.server.timer;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+/**
+ * Scheduler storing delayed tasks in two {@link TimingWheel timing wheels}, one in ticks and one in milliseconds.
+ * <p>
+ * Submission and cancellation only append to lock-free queues, the wheels are updated
+ * by the processing thread. A scheduler without any pending task only increments its tick when processed.
+ */
 final class SchedulerImpl implements Scheduler {
     private static final AtomicInteger TASK_COUNTER = new AtomicInteger();
-    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
-        Thread thread = new Thread(r);
-        thread.setDaemon(true);
-        return thread;
-    });
     private static final ForkJoinPool EXECUTOR = ForkJoinPool.commonPool();
 
+    // Tasks ready to be executed during next processing
     private final MpscUnboundedArrayQueue<TaskImpl> taskQueue = new MpscUnboundedArrayQueue<>(64);
-    private final IntSet registeredTasks = new IntOpenHashSet();
-    private final IntSet parkedTasks = new IntOpenHashSet();
+    // Tasks waiting to be inserted in their wheel, with their deadline already computed
+    private final MpscUnboundedArrayQueue<TaskImpl> tickQueue = new MpscUnboundedArrayQueue<>(64);
+    private final MpscUnboundedArrayQueue<TaskImpl> durationQueue = new MpscUnboundedArrayQueue<>(64);
+    // Cancelled tasks to remove from their wheel
+    private final MpscUnboundedArrayQueue<TaskImpl> cancelQueue = new MpscUnboundedArrayQueue<>(64);
 
-    // Tasks scheduled on a certain tick
-    private final Int2ObjectAVLTreeMap<List<TaskImpl>> tickTaskQueue = new Int2ObjectAVLTreeMap<>();
+    private final TimingWheel tickWheel = new TimingWheel(0);
+    private final TimingWheel durationWheel = new TimingWheel(millis());
+    private final Consumer<TaskImpl> expiredConsumer = taskQueue::relaxedOffer;
 
-    private int tickState;
+    private volatile long tickState;
 
     @Override
     public void process() {
@@ -45,13 +43,22 @@ final class SchedulerImpl implements Scheduler {
     }
 
     private void processTick(int tickDelta) {
-        synchronized (this) {
-            this.tickState += tickDelta;
-            int tickToProcess;
-            while (!tickTaskQueue.isEmpty() && (tickToProcess = tickTaskQueue.firstIntKey()) <= tickState) {
-                final List<TaskImpl> tickScheduledTasks = tickTaskQueue.remove(tickToProcess);
-                if (tickScheduledTasks != null) tickScheduledTasks.forEach(taskQueue::relaxedOffer);
-            }
+        final long tick = this.tickState + tickDelta;
+        this.tickState = tick;
+        if (!cancelQueue.isEmpty()) {
+            this.cancelQueue.drain(task -> {
+                final TimingWheel wheel = task.wheel;
+                if (wheel != null) wheel.remove(task);
+            });
+        }
+        // Advance before inserting new tasks, an empty wheel jumps directly to the target
+        if (!tickWheel.isEmpty() || !tickQueue.isEmpty()) {
+            this.tickWheel.advance(tick, expiredConsumer);
+            drainWheelQueue(tickQueue, tickWheel);
+        }
+        if (!durationWheel.isEmpty() || !durationQueue.isEmpty()) {
+            this.durationWheel.advance(millis(), expiredConsumer);
+            drainWheelQueue(durationQueue, durationWheel);
         }
         // Run all tasks lock-free, either in the current thread or pool
         if (!taskQueue.isEmpty()) {
@@ -68,34 +75,30 @@ final class SchedulerImpl implements Scheduler {
     @Override
     public @NotNull Task submitTask(@NotNull Supplier<TaskSchedule> task,
                                     @NotNull ExecutionType executionType) {
-        final TaskImpl taskRef = register(task, executionType);
+        final TaskImpl taskRef = new TaskImpl(TASK_COUNTER.getAndIncrement(), task, executionType, this);
         handleTask(taskRef);
         return taskRef;
     }
 
-    synchronized void unparkTask(TaskImpl task) {
-        if (parkedTasks.remove(task.id()))
-            this.taskQueue.relaxedOffer(task);
-    }
-
-    synchronized boolean isTaskParked(TaskImpl task) {
-        return parkedTasks.contains(task.id());
+    void unparkTask(TaskImpl task) {
+        this.taskQueue.relaxedOffer(task);
     }
 
-    synchronized void cancelTask(TaskImpl task) {
-        this.registeredTasks.remove(task.id());
+    void cancelTask(TaskImpl task) {
+        this.cancelQueue.relaxedOffer(task);
     }
 
-    synchronized boolean isTaskAlive(TaskImpl task) {
-        return registeredTasks.contains(task.id());
-    }
-
-    private synchronized TaskImpl register(@NotNull Supplier<TaskSchedule> task,
-                                           @NotNull ExecutionType executionType) {
-        TaskImpl taskRef = new TaskImpl(TASK_COUNTER.getAndIncrement(), task,
-                executionType, this);
-        this.registeredTasks.add(taskRef.id());
-        return taskRef;
+    private void drainWheelQueue(MpscUnboundedArrayQueue<TaskImpl> queue, TimingWheel wheel) {
+        final long current = wheel.current();
+        queue.drain(task -> {
+            if (!task.isAlive()) return;
+            if (task.deadline > current) {
+                wheel.schedule(task, task.deadline);
+            } else {
+                // Deadline reached before the task got inserted
+                this.taskQueue.relaxedOffer(task);
+            }
+        });
     }
 
     private void safeExecute(TaskImpl task) {
@@ -110,23 +113,24 @@ final class SchedulerImpl implements Scheduler {
     private void handleTask(TaskImpl task) {
         final TaskSchedule schedule = task.task().get();
         if (schedule instanceof TaskScheduleImpl.DurationSchedule durationSchedule) {
-            final Duration duration = durationSchedule.duration();
-            SCHEDULER.schedule(() -> safeExecute(task), duration.toMillis(), TimeUnit.MILLISECONDS);
+            task.deadline = millis() + Math.max(1, durationSchedule.duration().toMillis());
+            this.durationQueue.offer(task);
         } else if (schedule instanceof TaskScheduleImpl.TickSchedule tickSchedule) {
-            synchronized (this) {
-                final int target = tickState + tickSchedule.tick();
-                this.tickTaskQueue.computeIfAbsent(target, i -> new ArrayList<>()).add(task);
-            }
+            task.deadline = tickState + tickSchedule.tick();
+            this.tickQueue.offer(task);
         } else if (schedule instanceof TaskScheduleImpl.FutureSchedule futureSchedule) {
             futureSchedule.future().thenRun(() -> safeExecute(task));
         } else if (schedule instanceof TaskScheduleImpl.Park) {
-            synchronized (this) {
-                this.parkedTasks.add(task.id());
-            }
+            task.park();
         } else if (schedule instanceof TaskScheduleImpl.Stop) {
-            cancelTask(task);
+            // The task cannot be in a wheel while being executed
+            task.stop();
         } else if (schedule instanceof TaskScheduleImpl.Immediate) {
             this.taskQueue.relaxedOffer(task);
         }
     }
+
+    private static long millis() {
+        return System.nanoTime() / 1_000_000;
+    }
 }
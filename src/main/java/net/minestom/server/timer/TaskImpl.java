@@ -2,29 +2,101 @@ package net.minestom.server.timer;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.function.Supplier;
 
-record TaskImpl(int id,
-                @NotNull Supplier<TaskSchedule> task,
-                @NotNull ExecutionType executionType,
-                @NotNull SchedulerImpl owner) implements Task {
+final class TaskImpl implements Task {
+    static final int SCHEDULED = 0;
+    static final int PARKED = 1;
+    static final int CANCELLED = 2;
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(TaskImpl.class, "state", int.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final int id;
+    private final Supplier<TaskSchedule> task;
+    private final ExecutionType executionType;
+    private final SchedulerImpl owner;
+    @SuppressWarnings("unused")
+    private volatile int state = SCHEDULED;
+
+    // Timing wheel links, only accessed by the thread processing the owner
+    long deadline;
+    TimingWheel wheel;
+    int bucket;
+    TaskImpl prev, next;
+
+    TaskImpl(int id, @NotNull Supplier<TaskSchedule> task,
+             @NotNull ExecutionType executionType, @NotNull SchedulerImpl owner) {
+        this.id = id;
+        this.task = task;
+        this.executionType = executionType;
+        this.owner = owner;
+    }
+
+    @Override
+    public int id() {
+        return id;
+    }
+
+    @NotNull Supplier<TaskSchedule> task() {
+        return task;
+    }
+
+    @Override
+    public @NotNull ExecutionType executionType() {
+        return executionType;
+    }
+
+    @Override
+    public @NotNull SchedulerImpl owner() {
+        return owner;
+    }
+
     @Override
     public void unpark() {
-        this.owner.unparkTask(this);
+        if (STATE.compareAndSet(this, PARKED, SCHEDULED)) this.owner.unparkTask(this);
     }
 
     @Override
     public boolean isParked() {
-        return owner.isTaskParked(this);
+        return state == PARKED;
     }
 
     @Override
     public void cancel() {
-        this.owner.cancelTask(this);
+        if ((int) STATE.getAndSet(this, CANCELLED) != CANCELLED) this.owner.cancelTask(this);
     }
 
     @Override
     public boolean isAlive() {
-        return owner.isTaskAlive(this);
+        return state != CANCELLED;
+    }
+
+    /**
+     * Parks the task unless it has been cancelled in the meantime.
+     */
+    void park() {
+        STATE.compareAndSet(this, SCHEDULED, PARKED);
+    }
+
+    /**
+     * Marks the task as cancelled without notifying the scheduler, used once the task is not referenced anymore.
+     */
+    void stop() {
+        this.state = CANCELLED;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskImpl{id=" + id + ", executionType=" + executionType + ", state=" + state + '}';
     }
 }
@@ -0,0 +1,127 @@
+package net.minestom.server.timer;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel storing tasks by deadline, used for both tick and duration schedules.
+ * <p>
+ * Each level has 64 slots, a task is inserted in the lowest level able to represent its deadline
+ * and moves down one level every time the level above it turns. Insertion and removal are O(1),
+ * tasks are linked directly using {@link TaskImpl} fields.
+ * <p>
+ * Not thread-safe, only accessed by the thread processing the owning {@link SchedulerImpl}.
+ */
+final class TimingWheel {
+    private static final int LEVEL_BITS = 6;
+    private static final int SLOTS = 1 << LEVEL_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+    // Deadlines too far away to fit in the wheel, rescheduled each time the top level turns
+    private static final int OVERFLOW = LEVELS * SLOTS;
+    private static final long SPAN_MASK = (1L << (LEVEL_BITS * LEVELS)) - 1;
+
+    private final TaskImpl[] buckets = new TaskImpl[OVERFLOW + 1];
+    private long current;
+    private int size;
+
+    TimingWheel(long current) {
+        this.current = current;
+    }
+
+    long current() {
+        return current;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts a task to expire once the wheel reaches {@code deadline}.
+     *
+     * @param task     the task to insert, must not be in a wheel
+     * @param deadline the deadline, must be after {@link #current()}
+     */
+    void schedule(TaskImpl task, long deadline) {
+        task.deadline = deadline;
+        final int level = (63 - Long.numberOfLeadingZeros(deadline ^ current)) / LEVEL_BITS;
+        final int bucket = level < LEVELS ?
+                level * SLOTS + (int) ((deadline >>> (level * LEVEL_BITS)) & MASK) : OVERFLOW;
+        link(task, bucket);
+        this.size++;
+    }
+
+    /**
+     * Removes a task from the wheel, does nothing if the task is not scheduled in this wheel.
+     *
+     * @param task the task to remove
+     */
+    void remove(TaskImpl task) {
+        if (task.wheel != this) return;
+        unlink(task);
+        this.size--;
+    }
+
+    /**
+     * Advances the wheel up to {@code target} included.
+     *
+     * @param target  the new wheel time
+     * @param expired consumer of the tasks whose deadline has been reached
+     */
+    void advance(long target, Consumer<TaskImpl> expired) {
+        while (current < target) {
+            if (size == 0) {
+                // Nothing to cascade or expire
+                this.current = target;
+                return;
+            }
+            final long current = ++this.current;
+            if ((current & SPAN_MASK) == 0) cascade(OVERFLOW);
+            for (int level = LEVELS - 1; level > 0; level--) {
+                final int shift = level * LEVEL_BITS;
+                if ((current & ((1L << shift) - 1)) == 0) {
+                    cascade(level * SLOTS + (int) ((current >>> shift) & MASK));
+                }
+            }
+            final int bucket = (int) (current & MASK);
+            TaskImpl task;
+            while ((task = buckets[bucket]) != null) {
+                unlink(task);
+                this.size--;
+                expired.accept(task);
+            }
+        }
+    }
+
+    private void cascade(int bucket) {
+        TaskImpl task = buckets[bucket];
+        this.buckets[bucket] = null;
+        while (task != null) {
+            final TaskImpl next = task.next;
+            task.next = task.prev = null;
+            task.wheel = null;
+            this.size--;
+            schedule(task, task.deadline);
+            task = next;
+        }
+    }
+
+    private void link(TaskImpl task, int bucket) {
+        final TaskImpl head = buckets[bucket];
+        task.wheel = this;
+        task.bucket = bucket;
+        task.prev = null;
+        task.next = head;
+        if (head != null) head.prev = task;
+        this.buckets[bucket] = task;
+    }
+
+    private void unlink(TaskImpl task) {
+        final TaskImpl prev = task.prev, next = task.next;
+        if (prev != null) prev.next = next;
+        else this.buckets[task.bucket] = next;
+        if (next != null) next.prev = prev;
+        task.next = task.prev = null;
+        task.wheel = null;
+    }
+}
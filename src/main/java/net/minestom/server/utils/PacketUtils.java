@@ -4,6 +4,7 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
 import net.kyori.adventure.audience.Audience;
@@ -32,7 +33,10 @@ import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
@@ -47,12 +51,22 @@ import java.util.zip.Inflater;
  * Be sure to check the implementation code.
  */
 public final class PacketUtils {
-    private static final LocalCache<Deflater> LOCAL_DEFLATER = LocalCache.of(Deflater::new);
+    /**
+     * Deflate level used for compressed packets, from 0 (no compression) to 9 (best compression).
+     */
+    public static final int COMPRESSION_LEVEL = Integer.getInteger("minestom.compression-level", Deflater.DEFAULT_COMPRESSION);
+    private static final LocalCache<Deflater> LOCAL_DEFLATER = LocalCache.of(() -> new Deflater(COMPRESSION_LEVEL));
 
     public static final boolean GROUPED_PACKET = getBoolean("minestom.grouped-packet", true);
     public static final boolean CACHED_PACKET = getBoolean("minestom.cached-packet", true);
     public static final boolean VIEWABLE_PACKET = getBoolean("minestom.viewable-packet", true);
 
+    /**
+     * Minimum payload size of a packet to be compressed outside the writing thread, 0 to disable.
+     */
+    public static final int ASYNC_COMPRESSION_THRESHOLD = Integer.getInteger("minestom.async-compression-threshold", 65_536);
+    private static final ExecutorService COMPRESSION_EXECUTOR = createCompressionExecutor();
+
     // Viewable packets
     private static final Cache<Viewable, ViewableStorage> VIEWABLE_STORAGE_MAP = Caffeine.newBuilder().weakKeys().build();
 
@@ -236,6 +250,11 @@ public final class PacketUtils {
         Utils.writeVarInt(buffer, id);
         writeable.write(writerView);
         final int packetSize = buffer.position() - contentStart;
+        compressFramedPacket(buffer, compressedIndex, uncompressedIndex, contentStart, packetSize, compressionThreshold);
+    }
+
+    private static void compressFramedPacket(ByteBuffer buffer, int compressedIndex, int uncompressedIndex,
+                                             int contentStart, int packetSize, int compressionThreshold) {
         final boolean compressed = packetSize >= compressionThreshold;
         if (compressed) {
             // Packet large enough, compress it
@@ -263,17 +282,86 @@ public final class PacketUtils {
         return createFramedPacket(packet, MinecraftServer.getCompressionThreshold() > 0);
     }
 
+    /**
+     * Same as {@link #createFramedPacket(ServerPacket, boolean)} with compression enabled,
+     * except that packets with a payload of at least {@link #ASYNC_COMPRESSION_THRESHOLD} bytes
+     * are handed to the bounded compression executor instead of being deflated in the calling thread.
+     * Compression happens in the calling thread once the executor is full.
+     *
+     * @param packet           the packet to frame
+     * @param asyncCompression consumer of the framed packet future, called if compressed asynchronously
+     * @return the framed packet, null if it is compressed asynchronously
+     */
+    @ApiStatus.Internal
+    public static @Nullable ByteBuffer createFramedPacket(@NotNull ServerPacket packet,
+                                                          @NotNull Consumer<CompletableFuture<ByteBuffer>> asyncCompression) {
+        ByteBuffer buffer = PooledBuffers.packetBuffer();
+        final int compressedIndex = Utils.writeEmptyVarIntHeader(buffer);
+        final int uncompressedIndex = Utils.writeEmptyVarIntHeader(buffer);
+        final int contentStart = buffer.position();
+        Utils.writeVarInt(buffer, packet.getId());
+        packet.write(BinaryWriter.view(buffer));
+        final int packetSize = buffer.position() - contentStart;
+        if (ASYNC_COMPRESSION_THRESHOLD > 0 && packetSize >= ASYNC_COMPRESSION_THRESHOLD) {
+            // Copy the payload as the buffer is thread-local
+            final ByteBuffer payload = ByteBuffer.allocate(packetSize).put(0, buffer, contentStart, packetSize);
+            asyncCompression.accept(CompletableFuture.supplyAsync(() -> {
+                ByteBuffer output = PooledBuffers.packetBuffer();
+                Utils.writeEmptyVarIntHeader(output);
+                Utils.writeEmptyVarIntHeader(output);
+                output.put(payload);
+                compressFramedPacket(output, 0, 3, 6, packetSize, MinecraftServer.getCompressionThreshold());
+                final int size = output.position();
+                return ByteBuffer.allocateDirect(size).put(0, output, 0, size);
+            }, COMPRESSION_EXECUTOR));
+            return null;
+        }
+        compressFramedPacket(buffer, compressedIndex, uncompressedIndex, contentStart, packetSize,
+                MinecraftServer.getCompressionThreshold());
+        return buffer.flip();
+    }
+
     @ApiStatus.Internal
     public static FramedPacket allocateTrimmedPacket(@NotNull ServerPacket packet) {
-        final ByteBuffer temp = PacketUtils.createFramedPacket(packet);
+        return allocateTrimmedPacket(packet, MinecraftServer.getCompressionThreshold() > 0);
+    }
+
+    @ApiStatus.Internal
+    public static FramedPacket allocateTrimmedPacket(@NotNull ServerPacket packet, boolean compression) {
+        final ByteBuffer temp = PacketUtils.createFramedPacket(packet, compression);
         final int size = temp.remaining();
         final ByteBuffer buffer = ByteBuffer.allocateDirect(size).put(0, temp, 0, size);
         return new FramedPacket(packet, buffer);
     }
 
+    /**
+     * Same as {@link #allocateTrimmedPacket(ServerPacket, boolean)} with compression enabled,
+     * except that large packets are compressed by the compression executor
+     * as in {@link #createFramedPacket(ServerPacket, Consumer)}.
+     *
+     * @param packet the packet to frame
+     * @return the framed packet future, already completed if compressed in the calling thread
+     */
+    @ApiStatus.Internal
+    public static @NotNull CompletableFuture<FramedPacket> allocateTrimmedPacketAsync(@NotNull ServerPacket packet) {
+        CompletableFuture<FramedPacket> result = new CompletableFuture<>();
+        final ByteBuffer temp = createFramedPacket(packet, future -> future.whenComplete((buffer, throwable) -> {
+            if (throwable != null) result.completeExceptionally(throwable);
+            else result.complete(new FramedPacket(packet, buffer));
+        }));
+        if (temp != null) {
+            final int size = temp.remaining();
+            result.complete(new FramedPacket(packet, ByteBuffer.allocateDirect(size).put(0, temp, 0, size)));
+        }
+        return result;
+    }
+
     private static final class ViewableStorage {
         // Player id -> list of offsets to ignore (32:32 bits)
         private final Int2ObjectMap<LongArrayList> entityIdMap = new Int2ObjectOpenHashMap<>();
+        // Offsets of the packets skipped for lagging viewers (32:32 bits), and the entity to synchronize once skipped
+        private final LongArrayList droppableOffsets = new LongArrayList();
+        private final IntArrayList droppedEntityIds = new IntArrayList();
         private final BinaryBuffer buffer = PooledBuffers.get();
 
         {
@@ -283,12 +371,17 @@ public final class PacketUtils {
         private synchronized void append(Viewable viewable, ServerPacket serverPacket, Player player) {
             final ByteBuffer framedPacket = createFramedPacket(serverPacket);
             final int packetSize = framedPacket.limit();
+            final boolean droppable = PlayerSocketConnection.isDroppable(serverPacket);
             if (packetSize >= buffer.capacity()) {
                 process(viewable);
                 for (Player viewer : viewable.getViewers()) {
-                    if (!Objects.equals(player, viewer)) {
-                        writeTo(viewer.getPlayerConnection(), framedPacket, 0, packetSize);
+                    if (Objects.equals(player, viewer)) continue;
+                    final PlayerConnection connection = viewer.getPlayerConnection();
+                    if (droppable && isLagging(connection)) {
+                        PlayerSocketConnection.synchronizeDropped(PlayerSocketConnection.droppedEntityId(serverPacket));
+                        continue;
                     }
+                    writeTo(connection, framedPacket, 0, packetSize);
                 }
                 return;
             }
@@ -296,11 +389,15 @@ public final class PacketUtils {
             final int start = buffer.writerOffset();
             this.buffer.write(framedPacket);
             final int end = buffer.writerOffset();
+            final long offsets = (long) start << 32 | end & 0xFFFFFFFFL;
             if (player != null) {
-                final long offsets = (long) start << 32 | end & 0xFFFFFFFFL;
                 LongList list = entityIdMap.computeIfAbsent(player.getEntityId(), id -> new LongArrayList());
                 list.add(offsets);
             }
+            if (droppable) {
+                this.droppableOffsets.add(offsets);
+                this.droppedEntityIds.add(PlayerSocketConnection.droppedEntityId(serverPacket));
+            }
         }
 
         private synchronized void process(Viewable viewable) {
@@ -310,18 +407,34 @@ public final class PacketUtils {
             viewable.getViewers().forEach(player -> processPlayer(player, copy));
             this.buffer.clear();
             this.entityIdMap.clear();
+            this.droppableOffsets.clear();
+            this.droppedEntityIds.clear();
         }
 
         private void processPlayer(Player player, ByteBuffer buffer) {
             final int size = buffer.limit();
             final PlayerConnection connection = player.getPlayerConnection();
             final LongArrayList pairs = entityIdMap.get(player.getEntityId());
-            if (pairs != null) {
-                // Ensure that we skip the specified parts of the buffer
+            // Client lagging behind, skip the packets that will be outdated anyway
+            final LongArrayList dropped = !droppableOffsets.isEmpty() && isLagging(connection) ? droppableOffsets : null;
+            if (pairs != null || dropped != null) {
+                // Ensure that we skip the specified parts of the buffer, both lists are sorted
                 int lastWrite = 0;
-                final long[] elements = pairs.elements();
-                for (int i = 0; i < pairs.size(); ++i) {
-                    final long offsets = elements[i];
+                final int pairCount = pairs != null ? pairs.size() : 0;
+                final int droppedCount = dropped != null ? dropped.size() : 0;
+                int pairIndex = 0, droppedIndex = 0;
+                while (pairIndex < pairCount || droppedIndex < droppedCount) {
+                    final long offsets;
+                    if (droppedIndex == droppedCount ||
+                            (pairIndex < pairCount && pairs.getLong(pairIndex) <= dropped.getLong(droppedIndex))) {
+                        offsets = pairs.getLong(pairIndex++);
+                    } else {
+                        offsets = dropped.getLong(droppedIndex);
+                        final int entityId = droppedEntityIds.getInt(droppedIndex++);
+                        // Packets already ignored for this player are not dropped
+                        if ((int) (offsets >> 32) < lastWrite) continue;
+                        PlayerSocketConnection.synchronizeDropped(entityId);
+                    }
                     final int start = (int) (offsets >> 32);
                     if (start != lastWrite) writeTo(connection, buffer, lastWrite, start - lastWrite);
                     lastWrite = (int) offsets; // End = last 32 bits
@@ -333,6 +446,11 @@ public final class PacketUtils {
             }
         }
 
+        private static boolean isLagging(PlayerConnection connection) {
+            return connection instanceof PlayerSocketConnection socketConnection &&
+                    socketConnection.isAboveHighWaterMark();
+        }
+
         private static void writeTo(PlayerConnection connection, ByteBuffer buffer, int offset, int length) {
             if (connection instanceof PlayerSocketConnection socketConnection) {
                 socketConnection.write(buffer, offset, length);
@@ -342,6 +460,17 @@ public final class PacketUtils {
         }
     }
 
+    private static ExecutorService createCompressionExecutor() {
+        final int threads = Integer.getInteger("minestom.compression-threads", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        final AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 64), runnable -> {
+            Thread thread = new Thread(runnable, "Ms-compression-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     private static boolean getBoolean(String name, boolean defaultValue) {
         boolean result = defaultValue;
         try {
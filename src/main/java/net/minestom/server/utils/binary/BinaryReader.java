@@ -169,9 +169,8 @@ public class BinaryReader extends InputStream {
     public long[] readLongArray() {
         final int size = readVarInt();
         long[] array = new long[size];
-        for (int i = 0; i < size; i++) {
-            array[i] = readLong();
-        }
+        this.buffer.asLongBuffer().get(array);
+        this.buffer.position(buffer.position() + size * Long.BYTES);
         return array;
     }
 
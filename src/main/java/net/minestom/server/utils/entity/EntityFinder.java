@@ -10,6 +10,7 @@ import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.GameMode;
 import net.minestom.server.entity.Player;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.math.IntRange;
@@ -138,7 +139,7 @@ public class EntityFinder {
 
         final Point pos = startPosition != null ? startPosition : (self != null ? self.getPosition() : Vec.ZERO);
 
-        List<Entity> result = findTarget(instance, targetSelector, pos, self);
+        List<Entity> result = findTarget(instance, targetSelector, pos, self, distance);
         // Fast exit if there is nothing to process
         if (result.isEmpty())
             return result;
@@ -306,7 +307,17 @@ public class EntityFinder {
 
     private static @NotNull List<@NotNull Entity> findTarget(@Nullable Instance instance,
                                                              @NotNull TargetSelector targetSelector,
-                                                             @NotNull Point startPosition, @Nullable Entity self) {
+                                                             @NotNull Point startPosition, @Nullable Entity self,
+                                                             @Nullable IntRange distance) {
+        if (instance != null && distance != null &&
+                (targetSelector == TargetSelector.ALL_PLAYERS || targetSelector == TargetSelector.ALL_ENTITIES)) {
+            // Only visit the entities in range
+            final var target = targetSelector == TargetSelector.ALL_PLAYERS ?
+                    EntityTracker.Target.PLAYERS : EntityTracker.Target.ENTITIES;
+            List<Entity> entities = new ArrayList<>();
+            instance.getEntityTracker().nearbyEntities(startPosition, distance.getMaximum(), target, entities::add);
+            return entities;
+        }
         final var players = instance != null ?
                 instance.getPlayers() : MinecraftServer.getConnectionManager().getOnlinePlayers();
         if (targetSelector == TargetSelector.NEAREST_PLAYER) {
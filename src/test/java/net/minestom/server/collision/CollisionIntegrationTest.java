@@ -0,0 +1,58 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityTypes;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class CollisionIntegrationTest {
+
+    @Test
+    public void fallOnGround(Env env) {
+        var instance = env.createFlatInstance();
+        var entity = new Entity(EntityTypes.ZOMBIE);
+        entity.setInstance(instance, new Pos(0.5, 42, 0.5)).join();
+
+        var result = CollisionUtils.handlePhysics(entity, new Vec(0, -5, 0));
+        assertEquals(new Pos(0.5, 40, 0.5), result.newPosition());
+        assertEquals(0, result.newVelocity().y());
+        assertTrue(result.isOnGround());
+    }
+
+    @Test
+    public void wall(Env env) {
+        var instance = env.createFlatInstance();
+        instance.setBlock(2, 40, 0, Block.STONE);
+        var entity = new Entity(EntityTypes.ZOMBIE);
+        entity.setInstance(instance, new Pos(0.5, 40, 0.5)).join();
+
+        var result = CollisionUtils.handlePhysics(entity, new Vec(3, 0, 0.25));
+        var position = result.newPosition();
+        assertEquals(2 - entity.getBoundingBox().getWidth() / 2, position.x(), 1e-6);
+        assertEquals(40, position.y());
+        assertEquals(0.75, position.z());
+        assertEquals(new Vec(0, 0, 0.25), result.newVelocity());
+        assertFalse(result.isOnGround());
+    }
+
+    @Test
+    public void shapeClip() {
+        var slab = BlockShape.parse("[AABB[0.0, 0.0, 0.0] -> [1.0, 0.5, 1.0]]", BlockShape.EMPTY);
+        assertSame(slab, BlockShape.parse("[AABB[0.0, 0.0, 0.0] -> [1.0, 0.5, 1.0]]", BlockShape.EMPTY));
+        assertSame(BlockShape.FULL_BLOCK, BlockShape.parse("[AABB[0.0, 0.0, 0.0] -> [1.0, 1.0, 1.0]]", BlockShape.EMPTY));
+        assertEquals(0.5, slab.maxY());
+
+        double[] min = {0.2, 3, 0.2};
+        double[] max = {0.8, 4.8, 0.8};
+        assertEquals(-2.5, slab.clip(1, 0, 0, 0, min, max, -5));
+        // Not overlapping on the X axis
+        assertEquals(-5, slab.clip(1, 1, 0, 0, min, max, -5));
+    }
+}
@@ -0,0 +1,61 @@
+package net.minestom.server.entity;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.packet.server.play.EntityPositionPacket;
+import net.minestom.server.network.packet.server.play.EntityRotationPacket;
+import net.minestom.server.network.packet.server.play.EntityVelocityPacket;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class EntityMovementIntegrationTest {
+
+    @Test
+    public void coalescedMovement(Env env) {
+        var instance = env.createFlatInstance();
+        var viewer = env.createConnection();
+        viewer.connect(instance, new Pos(0, 40, 0)).join();
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setNoGravity(true);
+        entity.setInstance(instance, new Pos(0, 40, 0)).join();
+
+        var positionTracker = viewer.trackIncoming(EntityPositionPacket.class);
+        var rotationTracker = viewer.trackIncoming(EntityRotationPacket.class);
+        entity.refreshPosition(new Pos(0.5, 40, 0));
+        entity.refreshPosition(new Pos(1, 40, 0, 0.1f, 0));
+        entity.tick(0);
+        positionTracker.assertSingle(packet -> {
+            assertEquals(4096, packet.deltaX());
+            assertEquals(0, packet.deltaY());
+        });
+        // Too small to change the encoded rotation
+        rotationTracker.assertEmpty();
+
+        positionTracker = viewer.trackIncoming(EntityPositionPacket.class);
+        entity.tick(0);
+        positionTracker.assertEmpty();
+    }
+
+    @Test
+    public void predictedVelocity(Env env) {
+        var instance = env.createFlatInstance();
+        var viewer = env.createConnection();
+        viewer.connect(instance, new Pos(0, 40, 0)).join();
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0, 45, 0)).join();
+
+        // Free fall is simulated by viewers
+        var tracker = viewer.trackIncoming(EntityVelocityPacket.class);
+        for (int i = 0; i < 3; i++) entity.tick(0);
+        tracker.assertEmpty();
+
+        // Landing
+        tracker = viewer.trackIncoming(EntityVelocityPacket.class);
+        for (int i = 0; i < 40; i++) entity.tick(0);
+        tracker.assertSingle(packet -> assertEquals(0, packet.velocityY()));
+        assertEquals(40, entity.getPosition().y());
+    }
+}
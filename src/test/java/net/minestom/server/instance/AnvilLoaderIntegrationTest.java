@@ -0,0 +1,71 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class AnvilLoaderIntegrationTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void saveAndLoad(Env env) {
+        var instance = env.process().instance().createInstanceContainer(new AnvilLoader(folder));
+        Chunk chunk = instance.loadChunk(0, 0).join();
+        instance.setBlock(1, 40, 1, Block.STONE);
+        instance.saveChunkToStorage(chunk).join();
+        assertTrue(Files.exists(folder.resolve("region").resolve("r.0.0.mca")));
+
+        Chunk loaded = new AnvilLoader(folder).loadChunk(instance, 0, 0).join();
+        assertNotNull(loaded);
+        assertEquals(Block.STONE, loaded.getBlock(1, 40, 1));
+        assertEquals(Block.AIR, loaded.getBlock(2, 40, 1));
+    }
+
+    @Test
+    public void saveConsecutiveChanges(Env env) {
+        var instance = env.process().instance().createInstanceContainer(new AnvilLoader(folder));
+        Chunk chunk = instance.loadChunk(0, 0).join();
+        // Changes made in the same millisecond must not be considered as already saved
+        for (Block block : new Block[]{Block.STONE, Block.DIRT, Block.GRASS_BLOCK}) {
+            instance.setBlock(1, 40, 1, block);
+            instance.saveChunkToStorage(chunk).join();
+            Chunk loaded = new AnvilLoader(folder).loadChunk(instance, 0, 0).join();
+            assertNotNull(loaded);
+            assertEquals(block, loaded.getBlock(1, 40, 1));
+        }
+        // Unchanged chunks are still readable once saved again
+        instance.saveChunkToStorage(chunk).join();
+        assertEquals(Block.GRASS_BLOCK, new AnvilLoader(folder).loadChunk(instance, 0, 0).join().getBlock(1, 40, 1));
+    }
+
+    @Test
+    public void sharedLoader(Env env) {
+        var setup = env.process().instance().createInstanceContainer(new AnvilLoader(folder));
+        setup.saveChunkToStorage(setup.loadChunk(0, 0).join()).join();
+
+        // Same chunk loaded by two instances, with the same number of changes
+        var loader = new AnvilLoader(folder);
+        var first = env.process().instance().createInstanceContainer(loader);
+        var second = env.process().instance().createInstanceContainer(loader);
+        Chunk firstChunk = first.loadChunk(0, 0).join();
+        Chunk secondChunk = second.loadChunk(0, 0).join();
+        first.setBlock(1, 40, 1, Block.STONE);
+        second.setBlock(1, 40, 1, Block.DIRT);
+        assertEquals(firstChunk.getChangeCount(), secondChunk.getChangeCount());
+
+        first.saveChunkToStorage(firstChunk).join();
+        assertEquals(Block.STONE, new AnvilLoader(folder).loadChunk(setup, 0, 0).join().getBlock(1, 40, 1));
+        second.saveChunkToStorage(secondChunk).join();
+        assertEquals(Block.DIRT, new AnvilLoader(folder).loadChunk(setup, 0, 0).join().getBlock(1, 40, 1));
+    }
+}
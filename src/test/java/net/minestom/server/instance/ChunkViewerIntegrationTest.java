@@ -3,14 +3,25 @@ package net.minestom.server.instance;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.api.Env;
 import net.minestom.server.api.EnvTest;
+import net.minestom.server.api.TestConnection;
 import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.block.Block;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.utils.binary.BinaryWriter;
 import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.world.biomes.Biome;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @EnvTest
 public class ChunkViewerIntegrationTest {
@@ -46,6 +57,8 @@ public class ChunkViewerIntegrationTest {
             var player = connection.connect(instance, new Pos(0, 40, 0)).join();
             assertEquals(instance, player.getInstance());
             assertEquals(new Pos(0, 40, 0), player.getPosition());
+            // Chunks are sent progressively, at least one per tick
+            for (int i = 0; i < count; i++) env.tick();
             assertEquals(count, tracker.collect().size());
         }
         // Check chunk#sendChunk
@@ -59,4 +72,82 @@ public class ChunkViewerIntegrationTest {
             assertEquals(count, tracker.collect().size());
         }
     }
+
+    @Test
+    public void chunkQueue(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        var tracker = connection.trackIncoming(ChunkDataPacket.class);
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+        env.tick();
+        var packets = tracker.collect();
+        assertTrue(packets.size() < ChunkUtils.getChunkCount(MinecraftServer.getChunkViewDistance()));
+        // Closest chunks first
+        assertEquals(0, packets.get(0).chunkX());
+        assertEquals(0, packets.get(0).chunkZ());
+        for (var packet : packets) {
+            assertTrue(Math.abs(packet.chunkX()) <= 3 && Math.abs(packet.chunkZ()) <= 3);
+        }
+    }
+
+    @Test
+    public void chunkQueueLimits(Env env) {
+        var instance = env.createFlatInstance();
+        for (int x = -2; x <= 2; x++) {
+            for (int z = -2; z <= 2; z++) instance.loadChunk(x, z).join();
+        }
+        var connection = env.createConnection();
+        var player = connection.connect(instance, new Pos(0, 40, 0), p -> p.setChunksPerTick(2)).join();
+        var tracker = connection.trackIncoming(ChunkDataPacket.class);
+        env.tick();
+        assertEquals(2, tracker.collect().size());
+
+        // The first chunk reaches the byte budget
+        player.setChunksPerTick(16);
+        player.setChunkBytesPerTick(1);
+        tracker = connection.trackIncoming(ChunkDataPacket.class);
+        env.tick();
+        assertEquals(1, tracker.collect().size());
+    }
+
+    @Test
+    public void dirtySections(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        var player = connection.connect(instance, new Pos(0, 40, 0)).join();
+        Chunk chunk = instance.loadChunk(0, 0).join();
+        assertArrayEquals(sectionsData(chunk, Integer.MIN_VALUE, null), chunkData(connection, player, chunk));
+
+        // Written directly to the palette, the section is not marked as dirty and its cached bytes must be reused
+        final int cachedSection = 5;
+        final byte[] cachedData = BinaryWriter.makeArray(writer -> writer.write(chunk.getSection(cachedSection)));
+        chunk.getSection(cachedSection).blockPalette().set(0, 0, 0, Block.STONE.stateId());
+        assertFalse(Arrays.equals(sectionsData(chunk, Integer.MIN_VALUE, null), sectionsData(chunk, cachedSection, cachedData)));
+
+        // Only the modified section is serialized again
+        chunk.setBlock(0, 40, 0, Block.DIRT);
+        assertArrayEquals(sectionsData(chunk, cachedSection, cachedData), chunkData(connection, player, chunk));
+        chunk.setBiome(0, 100, 0, Biome.builder().name(NamespaceID.from("minestom:dirty_section")).build());
+        assertArrayEquals(sectionsData(chunk, cachedSection, cachedData), chunkData(connection, player, chunk));
+    }
+
+    private static byte[] chunkData(TestConnection connection, Player player, Chunk chunk) {
+        var tracker = connection.trackIncoming(ChunkDataPacket.class);
+        chunk.sendChunk(player);
+        var packets = tracker.collect();
+        assertEquals(1, packets.size());
+        return packets.get(0).chunkData().data();
+    }
+
+    private static byte[] sectionsData(Chunk chunk, int cachedSection, byte[] cachedData) {
+        return BinaryWriter.makeArray(writer -> {
+            for (int section = chunk.getMinSection(); section < chunk.getMaxSection(); section++) {
+                if (section == cachedSection) {
+                    writer.writeBytes(cachedData);
+                } else {
+                    writer.write(chunk.getSection(section));
+                }
+            }
+        });
+    }
 }
@@ -7,7 +7,10 @@ import net.minestom.server.instance.EntityTracker;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -171,6 +174,58 @@ public class EntityTrackerTest {
         assertEquals(0, entities.size());
     }
 
+    @Test
+    public void nearbyUnbounded() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(1, 1, 1), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(-3000, 200, 5000), EntityTracker.Target.ENTITIES, null);
+
+        // Ranges such as "distance=5.." in selectors, each entity must be found exactly once
+        for (Vec center : new Vec[]{new Vec(0.5, 64, 0.5), new Vec(100.3, 70, -250.7)}) {
+            List<Entity> entities = new ArrayList<>();
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                    tracker.nearbyEntities(center, Integer.MAX_VALUE, EntityTracker.Target.ENTITIES, entities::add));
+            assertEquals(2, entities.size());
+            assertEquals(Set.of(ent1, ent2), Set.copyOf(entities));
+        }
+    }
+
+    @Test
+    public void nearbyBox() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(1, 1, 1), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(-3, 10, 2), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> entities = new HashSet<>();
+        tracker.nearbyEntities(0, 0, 0, 2, 2, 2, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+
+        entities.clear();
+        tracker.nearbyEntities(-3, 0, 0, 2, 10, 2, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1, ent2), entities);
+
+        // Moving to another cell
+        tracker.move(ent1, new Vec(-2.5, 9, 1.5), EntityTracker.Target.ENTITIES, null);
+        entities.clear();
+        tracker.nearbyEntities(-3, 8, 1, -2, 10, 2, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1, ent2), entities);
+
+        // Modify the tracker during the query
+        entities.clear();
+        tracker.nearbyEntities(-3, 8, 1, -2, 10, 2, EntityTracker.Target.ENTITIES, entity -> {
+            entities.add(entity);
+            tracker.unregister(entity, EntityTracker.Target.ENTITIES, null);
+        });
+        assertEquals(Set.of(ent1, ent2), entities);
+        tracker.nearbyEntities(-3, 8, 1, -2, 10, 2, EntityTracker.Target.ENTITIES, entity -> fail("Entities have been unregistered"));
+    }
+
     @Test
     public void collectionView() {
         var ent1 = new Entity(EntityType.ZOMBIE);
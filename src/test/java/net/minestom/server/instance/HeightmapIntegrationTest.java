@@ -0,0 +1,43 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class HeightmapIntegrationTest {
+
+    @Test
+    public void generated(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        for (Heightmap.Type type : Heightmap.Type.values()) {
+            var heightmap = chunk.getHeightmap(type);
+            assertEquals(40, heightmap.getHeight(0, 0));
+            assertEquals(40, heightmap.getHeight(15, 15));
+        }
+    }
+
+    @Test
+    public void incremental(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        var heightmap = chunk.getHeightmap(Heightmap.Type.WORLD_SURFACE);
+
+        instance.setBlock(3, 60, 4, Block.STONE);
+        assertEquals(61, heightmap.getHeight(3, 4));
+        assertEquals(40, heightmap.getHeight(4, 3));
+
+        instance.setBlock(3, 50, 4, Block.STONE);
+        assertEquals(61, heightmap.getHeight(3, 4));
+
+        instance.setBlock(3, 60, 4, Block.AIR);
+        assertEquals(51, heightmap.getHeight(3, 4));
+
+        instance.setBlock(3, 50, 4, Block.AIR);
+        assertEquals(40, heightmap.getHeight(3, 4));
+    }
+}
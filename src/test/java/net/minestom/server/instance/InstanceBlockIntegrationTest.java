@@ -1,13 +1,19 @@
 package net.minestom.server.instance;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.api.Env;
 import net.minestom.server.api.EnvTest;
+import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.NamespaceID;
 import org.jetbrains.annotations.NotNull;
@@ -16,10 +22,14 @@ import org.jglrxavpok.hephaistos.parser.SNBTParser;
 import org.junit.jupiter.api.Test;
 
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @EnvTest
 public class InstanceBlockIntegrationTest {
@@ -96,4 +106,175 @@ public class InstanceBlockIntegrationTest {
 
         assertEquals(block, instance.getBlock(blockPoint));
     }
+
+    @Test
+    public void touchableHandler(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        AtomicInteger touches = new AtomicInteger();
+        BlockHandler handler = new BlockHandler() {
+            @Override
+            public void onTouch(@NotNull Touch touch) {
+                touches.incrementAndGet();
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:touch");
+            }
+        };
+        BlockHandler otherHandler = () -> NamespaceID.from("minestom:other");
+        assertTrue(handler.isTouchable());
+        assertFalse(otherHandler.isTouchable());
+
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0.5, 40, 0.5)).join();
+        instance.setBlock(0, 41, 0, Block.COBWEB.withHandler(otherHandler));
+        assertFalse(chunk.hasTouchableBlocks(2));
+
+        instance.setBlock(0, 40, 0, Block.COBWEB.withHandler(handler));
+        assertTrue(chunk.hasTouchableBlocks(2));
+        assertFalse(chunk.hasTouchableBlocks(3));
+        entity.tick(0);
+        assertEquals(1, touches.get());
+
+        instance.setBlock(0, 40, 0, Block.AIR);
+        assertFalse(chunk.hasTouchableBlocks(2));
+        entity.tick(0);
+        assertEquals(1, touches.get());
+    }
+
+    @Test
+    public void randomTick(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        List<Point> ticked = new ArrayList<>();
+        BlockHandler handler = new BlockHandler() {
+            @Override
+            public void randomTick(@NotNull Tick tick) {
+                assertEquals(Block.WHEAT, tick.getBlock());
+                ticked.add(tick.getBlockPosition());
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:random_tick");
+            }
+        };
+        var blockManager = MinecraftServer.getBlockManager();
+        blockManager.registerRandomTickHandler(Block.WHEAT, handler);
+        try {
+            // Written directly to the palette
+            chunk.getSection(3).blockPalette().fill(Block.WHEAT.stateId());
+            instance.setRandomTickSpeed(3);
+            chunk.tick(0);
+            assertEquals(3, ticked.size());
+            for (Point point : ticked) {
+                assertEquals(3, point.section());
+                assertEquals(0, point.chunkX());
+                assertEquals(0, point.chunkZ());
+            }
+
+            ticked.clear();
+            instance.setRandomTickSpeed(0);
+            chunk.tick(0);
+            assertEquals(0, ticked.size());
+        } finally {
+            blockManager.registerRandomTickHandler(Block.WHEAT, null);
+        }
+        assertFalse(blockManager.hasRandomTickHandlers());
+    }
+
+    @Test
+    public void batchedBlockChanges(Env env) {
+        var instance = (InstanceContainer) env.createFlatInstance();
+        instance.enableBlockChangeBatching(true);
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var tracker = connection.trackIncoming();
+        instance.setBlock(5, 41, 0, Block.STONE);
+        instance.setBlock(6, 42, 1, Block.STONE);
+        tracker.assertEmpty();
+        assertEquals(Block.STONE, instance.getBlock(5, 41, 0));
+
+        var multiTracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        instance.flushBlockChanges();
+        multiTracker.assertSingle(packet -> assertEquals(2, packet.blocks().length));
+
+        // Too many changes, send the whole chunk instead
+        instance.setChunkResendThreshold(2);
+        var chunkTracker = connection.trackIncoming(ChunkDataPacket.class);
+        for (int x = 0; x < 3; x++) instance.setBlock(x, 45, 0, Block.STONE);
+        instance.flushBlockChanges();
+        chunkTracker.assertSingle(packet -> assertEquals(0, packet.chunkX()));
+    }
+
+    @Test
+    public void copyDiverges(Env env) {
+        var instance = (InstanceContainer) env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.setBlock(1, 41, 1, Block.STONE);
+
+        var copy = instance.copy();
+        assertEquals(Block.STONE, copy.getBlock(1, 41, 1));
+        assertEquals(Block.STONE, copy.getBlock(1, 39, 1));
+
+        // Sections are shared until the first write
+        copy.setBlock(1, 41, 1, Block.DIRT);
+        instance.setBlock(1, 39, 1, Block.GRASS_BLOCK);
+        assertEquals(Block.STONE, instance.getBlock(1, 41, 1));
+        assertEquals(Block.DIRT, copy.getBlock(1, 41, 1));
+        assertEquals(Block.GRASS_BLOCK, instance.getBlock(1, 39, 1));
+        assertEquals(Block.STONE, copy.getBlock(1, 39, 1));
+    }
+
+    @Test
+    public void nestedChangeDeferred(Env env) throws InterruptedException {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        // Chunks 0,0 and 1,0 use different block locks
+        var otherChunk = instance.loadChunk(1, 0).join();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockHandler blocking = new BlockHandler() {
+            @Override
+            public void onPlace(@NotNull Placement placement) {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:blocking");
+            }
+        };
+        AtomicReference<Block> placedBlock = new AtomicReference<>();
+        BlockHandler nested = new BlockHandler() {
+            @Override
+            public void onPlace(@NotNull Placement placement) {
+                instance.setBlock(17, 50, 0, Block.STONE);
+                placedBlock.set(otherChunk.getBlock(17, 50, 0));
+                release.countDown();
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:nested");
+            }
+        };
+        // Another thread holds the lock of the second chunk
+        Thread thread = new Thread(() -> instance.setBlock(16, 50, 0, Block.STONE.withHandler(blocking)));
+        thread.start();
+        locked.await();
+
+        instance.setBlock(0, 50, 0, Block.STONE.withHandler(nested));
+        assertEquals(Block.AIR, placedBlock.get(), "Nested change must be deferred while the lock is held");
+        assertEquals(Block.STONE, instance.getBlock(17, 50, 0));
+        thread.join();
+    }
 }
@@ -0,0 +1,48 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class LightEngineIntegrationTest {
+
+    @Test
+    public void skyLight(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        chunk.tick(0);
+
+        assertEquals(15, skyLight(chunk, 0, 40, 0));
+        assertEquals(15, skyLight(chunk, 8, 100, 8));
+        assertEquals(0, skyLight(chunk, 0, 39, 0));
+    }
+
+    @Test
+    public void incrementalSkyLight(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        chunk.tick(0);
+
+        instance.setBlock(5, 50, 5, Block.STONE);
+        chunk.tick(0);
+        assertEquals(15, skyLight(chunk, 5, 51, 5));
+        assertEquals(14, skyLight(chunk, 5, 49, 5));
+        assertEquals(14, skyLight(chunk, 5, 40, 5));
+        assertEquals(15, skyLight(chunk, 6, 49, 5));
+
+        instance.setBlock(5, 50, 5, Block.AIR);
+        chunk.tick(0);
+        assertEquals(15, skyLight(chunk, 5, 49, 5));
+        assertEquals(15, skyLight(chunk, 5, 40, 5));
+    }
+
+    private static int skyLight(Chunk chunk, int x, int y, int z) {
+        final byte[] light = chunk.getSectionAt(y).getSkyLight();
+        final int index = (y & 0xF) << 8 | (z & 0xF) << 4 | (x & 0xF);
+        return (light[index >>> 1] >>> ((index & 1) << 2)) & 0xF;
+    }
+}
@@ -0,0 +1,96 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.world.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class NativeChunkLoaderIntegrationTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void saveAndLoad(Env env) {
+        final Path path = folder.resolve("chunks.mnch");
+        var loader = new NativeChunkLoader(path);
+        var instance = env.process().instance().createInstanceContainer(loader);
+        Chunk chunk = instance.loadChunk(0, 0).join();
+
+        final NBTCompound nbt = NBT.Compound(Map.of("key", NBT.Int(5)));
+        instance.setBlock(1, 40, 1, Block.STONE);
+        instance.setBlock(2, 40, 1, Block.CHEST.withHandler(new TestHandler()));
+        instance.setBlock(3, 40, 1, Block.STONE.withNbt(nbt));
+        byte[] skyLight = new byte[2048];
+        skyLight[0] = 0x0F;
+        byte[] blockLight = new byte[2048];
+        blockLight[1] = 0x07;
+        chunk.getSection(2).setSkyLight(skyLight);
+        chunk.getSection(2).setBlockLight(blockLight);
+
+        // Single chunks are only written with the instance
+        loader.saveChunk(chunk).join();
+        assertFalse(Files.exists(path));
+        loader.saveInstance(instance).join();
+        assertTrue(Files.exists(path));
+
+        Chunk loaded = new NativeChunkLoader(path).loadChunk(instance, 0, 0).join();
+        assertNotNull(loaded);
+        assertEquals(Block.STONE, loaded.getBlock(1, 40, 1));
+        assertEquals(Block.AIR, loaded.getBlock(1, 41, 1));
+
+        final Block handlerBlock = loaded.getBlock(2, 40, 1);
+        assertEquals(Block.CHEST.stateId(), handlerBlock.stateId());
+        assertNotNull(handlerBlock.handler());
+        assertEquals(TestHandler.NAMESPACE, handlerBlock.handler().getNamespaceId());
+
+        final Block nbtBlock = loaded.getBlock(3, 40, 1);
+        assertEquals(Block.STONE.stateId(), nbtBlock.stateId());
+        assertEquals(nbt, nbtBlock.nbt());
+
+        assertArrayEquals(skyLight, loaded.getSection(2).getSkyLight());
+        assertArrayEquals(blockLight, loaded.getSection(2).getBlockLight());
+
+        assertNull(new NativeChunkLoader(path).loadChunk(instance, 1, 0).join(), "Chunk has never been saved");
+    }
+
+    @Test
+    public void dimensionMismatch(Env env) {
+        final Path path = folder.resolve("chunks.mnch");
+        var loader = new NativeChunkLoader(path);
+        var instance = env.process().instance().createInstanceContainer(loader);
+        instance.loadChunk(0, 0).join();
+        instance.setBlock(1, 40, 1, Block.STONE);
+        instance.saveChunksToStorage().join();
+
+        final DimensionType dimension = DimensionType.builder(NamespaceID.from("minestom:native_loader_test"))
+                .minY(0).height(256).logicalHeight(256).build();
+        env.process().dimension().addDimension(dimension);
+        var otherInstance = env.process().instance().createInstanceContainer(dimension);
+        // Sections do not match, the chunk is not loaded
+        assertNull(new NativeChunkLoader(path).loadChunk(otherInstance, 0, 0).join());
+    }
+
+    private static final class TestHandler implements BlockHandler {
+        static final NamespaceID NAMESPACE = NamespaceID.from("minestom:native_loader_test");
+
+        @Override
+        public @NotNull NamespaceID getNamespaceId() {
+            return NAMESPACE;
+        }
+    }
+}
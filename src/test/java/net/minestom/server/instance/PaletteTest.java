@@ -3,10 +3,13 @@ package net.minestom.server.instance;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.binary.BinaryWriter;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -56,6 +59,79 @@ public class PaletteTest {
         }
     }
 
+    @Test
+    public void countPredicate() {
+        var palettes = testPalettes();
+        for (Palette palette : palettes) {
+            final int maxSize = palette.maxSize();
+            assertEquals(maxSize, palette.count(value -> value == 0));
+            assertEquals(0, palette.count(value -> value == 5));
+
+            palette.set(0, 0, 0, 5);
+            palette.set(1, 0, 0, 5);
+            palette.set(0, 1, 0, 6);
+            assertEquals(2, palette.count(value -> value == 5));
+            assertEquals(3, palette.count(value -> value != 0));
+            assertEquals(maxSize - 3, palette.count(value -> value == 0));
+
+            palette.set(1, 0, 0, 6);
+            assertEquals(1, palette.count(value -> value == 5));
+            assertEquals(2, palette.count(value -> value == 6));
+
+            palette.fill(7);
+            assertEquals(maxSize, palette.count(value -> value == 7));
+            assertEquals(0, palette.count(value -> value == 5));
+
+            palette.setAll((x, y, z) -> x == 0 ? 8 : 9);
+            assertEquals(maxSize / palette.dimension(), palette.count(value -> value == 8));
+            assertEquals(0, palette.count(value -> value == 7));
+
+            palette.replaceAll((x, y, z, value) -> value == 8 ? 0 : value);
+            assertEquals(0, palette.count(value -> value == 8));
+            assertEquals(palette.count(), palette.count(value -> value == 9));
+
+            // Enough different values to stop using a palette
+            final int dimension = palette.dimension();
+            for (int x = 0; x < dimension; x++)
+                for (int y = 0; y < dimension; y++)
+                    for (int z = 0; z < dimension; z++)
+                        palette.set(x, y, z, x + y * dimension + z * dimension * dimension + 1);
+            assertEquals(1, palette.count(value -> value == 1));
+            assertEquals(maxSize, palette.count(value -> value != 0));
+
+            palette.set(0, 0, 0, 0);
+            palette.set(1, 0, 0, 0);
+            assertEquals(2, palette.count(value -> value == 0));
+            assertEquals(maxSize - 2, palette.count(value -> value != 0));
+            assertEquals(0, palette.count(value -> value == 1));
+
+            Palette copy = palette.clone();
+            copy.set(0, 0, 0, 5);
+            assertEquals(2, palette.count(value -> value == 0));
+            assertEquals(1, copy.count(value -> value == 0));
+        }
+    }
+
+    @Test
+    public void bulkManyValues() {
+        // Enough values to stop using a palette while filling
+        for (Palette palette : List.of(Palette.blocks(), Palette.biomes())) {
+            final int dimension = palette.dimension();
+            palette.setAll((x, y, z) -> x + y * dimension + z * dimension * dimension + 1);
+            for (int x = 0; x < dimension; x++)
+                for (int y = 0; y < dimension; y++)
+                    for (int z = 0; z < dimension; z++)
+                        assertEquals(x + y * dimension + z * dimension * dimension + 1, palette.get(x, y, z));
+
+            palette.fill(1);
+            palette.replaceAll((x, y, z, value) -> x + y * dimension + z * dimension * dimension + 2);
+            for (int x = 0; x < dimension; x++)
+                for (int y = 0; y < dimension; y++)
+                    for (int z = 0; z < dimension; z++)
+                        assertEquals(x + y * dimension + z * dimension * dimension + 2, palette.get(x, y, z));
+        }
+    }
+
     @Test
     public void negPlacement() {
         var palettes = testPalettes();
@@ -265,6 +341,44 @@ public class PaletteTest {
         }
     }
 
+    @Test
+    public void readWrite() {
+        var palettes = testPalettes();
+        for (Palette palette : palettes) {
+            final int dimension = palette.dimension();
+            for (int values : new int[]{1, 3, 100}) {
+                Random random = new Random(values);
+                palette.setAll((x, y, z) -> random.nextInt(values) * 3);
+                Palette copy = Palette.newPalette(dimension, 5, 3, 1);
+                copy.read(new BinaryReader(BinaryWriter.makeArray(palette::write)));
+                assertEquals(palette.count(), copy.count());
+                palette.getAll((x, y, z, value) -> assertEquals(value, copy.get(x, y, z)));
+                // Must still be modifiable
+                copy.set(0, 0, 0, 1000);
+                assertEquals(1000, copy.get(0, 0, 0));
+            }
+        }
+    }
+
+    @Test
+    public void cloneWrite() {
+        var palettes = testPalettes();
+        for (Palette palette : palettes) {
+            palette.set(0, 0, 0, 5);
+            palette.set(1, 0, 0, 6);
+            Palette copy = palette.clone();
+            copy.set(0, 0, 0, 7);
+            assertEquals(5, palette.get(0, 0, 0));
+            assertEquals(7, copy.get(0, 0, 0));
+
+            palette.set(1, 0, 0, 8);
+            assertEquals(8, palette.get(1, 0, 0));
+            assertEquals(6, copy.get(1, 0, 0));
+            assertEquals(2, palette.count());
+            assertEquals(2, copy.count());
+        }
+    }
+
     @Test
     public void dimension() {
         assertThrows(Exception.class, () -> Palette.newPalette(-4, 5, 3, 1));
@@ -0,0 +1,108 @@
+package net.minestom.server.instance;
+
+import org.jglrxavpok.hephaistos.nbt.CompressedProcesser;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.jglrxavpok.hephaistos.nbt.NBTWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionStorageTest {
+    private static final int GZIP = 1, ZLIB = 2, EXTERNAL = 128;
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void missing() throws IOException {
+        RegionStorage storage = new RegionStorage(folder);
+        assertNull(storage.readColumnData(0, 0));
+        writeRegion(0, 0, 0, 0, GZIP, compress(GZIP, chunkData(0, 0)));
+        assertNull(storage.readColumnData(1, 0), "Chunk not present in the region");
+        storage.close();
+    }
+
+    @Test
+    public void compression() throws IOException {
+        writeRegion(0, 0, 1, 2, GZIP, compress(GZIP, chunkData(1, 2)));
+        writeRegion(1, 0, 33, 2, ZLIB, compress(ZLIB, chunkData(33, 2)));
+        // External chunks only have their compression type in the region file
+        writeRegion(0, 1, 3, 35, ZLIB | EXTERNAL, new byte[0]);
+        Files.write(folder.resolve("c.3.35.mcc"), compress(ZLIB, chunkData(3, 35)));
+
+        RegionStorage storage = new RegionStorage(folder);
+        assertEquals(chunkData(1, 2), storage.readColumnData(1, 2));
+        assertEquals(chunkData(33, 2), storage.readColumnData(33, 2));
+        assertEquals(chunkData(3, 35), storage.readColumnData(3, 35));
+        storage.close();
+    }
+
+    @Test
+    public void eviction() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            writeRegion(i, 0, i * 32, 0, GZIP, compress(GZIP, chunkData(i * 32, 0)));
+        }
+        RegionStorage storage = new RegionStorage(folder, 2);
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertEquals(chunkData(i * 32, 0), storage.readColumnData(i * 32, 0));
+                assertTrue(storage.openRegions() <= 2);
+            }
+        }
+        storage.close();
+        assertEquals(0, storage.openRegions());
+    }
+
+    @Test
+    public void remapAfterWrite() throws Exception {
+        RegionStorage storage = new RegionStorage(folder);
+        assertNull(storage.readColumnData(0, 0));
+        storage.writeColumn(0, 0, -64, 319, column -> {
+        });
+        final NBTCompound first = storage.readColumnData(0, 0);
+        assertNotNull(first, "Written chunk must be visible once the file has been created");
+        // The file grows, the previous mapping does not cover the new chunk
+        storage.writeColumn(5, 7, -64, 319, column -> {
+        });
+        assertNotNull(storage.readColumnData(5, 7));
+        assertEquals(first, storage.readColumnData(0, 0));
+        storage.close();
+    }
+
+    private void writeRegion(int regionX, int regionZ, int chunkX, int chunkZ,
+                             int compression, byte[] payload) throws IOException {
+        final int sectors = (5 + payload.length + 4095) / 4096;
+        ByteBuffer buffer = ByteBuffer.allocate(8192 + sectors * 4096);
+        buffer.putInt(((chunkX & 31) + (chunkZ & 31) * 32) * 4, 2 << 8 | sectors);
+        buffer.position(8192);
+        buffer.putInt(payload.length + 1);
+        buffer.put((byte) compression);
+        buffer.put(payload);
+        Files.write(folder.resolve("r." + regionX + "." + regionZ + ".mca"), buffer.array());
+    }
+
+    private static NBTCompound chunkData(int chunkX, int chunkZ) {
+        return NBT.Compound(Map.of("xPos", NBT.Int(chunkX), "zPos", NBT.Int(chunkZ)));
+    }
+
+    private static byte[] compress(int compression, NBTCompound compound) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (OutputStream stream = compression == GZIP ? new GZIPOutputStream(output) : new DeflaterOutputStream(output);
+             NBTWriter writer = new NBTWriter(stream, CompressedProcesser.NONE)) {
+            writer.writeNamed("", compound);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,47 @@
+package net.minestom.server.instance;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SectionTest {
+
+    @Test
+    public void cloneBlocks() {
+        Section section = new Section();
+        section.blockPalette().set(0, 0, 0, 1);
+        Section copy = section.clone();
+        assertEquals(1, copy.blockPalette().get(0, 0, 0));
+
+        copy.blockPalette().set(0, 0, 0, 2);
+        assertEquals(1, section.blockPalette().get(0, 0, 0));
+        assertEquals(2, copy.blockPalette().get(0, 0, 0));
+
+        section.blockPalette().set(1, 0, 0, 3);
+        assertEquals(0, copy.blockPalette().get(1, 0, 0));
+        assertEquals(3, section.blockPalette().get(1, 0, 0));
+    }
+
+    @Test
+    public void cloneLights() {
+        Section section = new Section();
+        section.setSkyLight(new byte[2048]);
+        section.setBlockLight(new byte[2048]);
+        Section copy = section.clone();
+        assertSame(section.getSkyLight(), copy.getSkyLight());
+        assertSame(section.getBlockLight(), copy.getBlockLight());
+
+        // First write of either section copies the array
+        copy.getModifiableSkyLight()[0] = 15;
+        assertEquals(0, section.getSkyLight()[0]);
+        assertEquals(15, copy.getSkyLight()[0]);
+
+        section.getModifiableBlockLight()[0] = 7;
+        assertEquals(0, copy.getBlockLight()[0]);
+        assertEquals(7, section.getBlockLight()[0]);
+
+        // Arrays are not copied anymore once owned
+        final byte[] skyLight = copy.getModifiableSkyLight();
+        assertSame(skyLight, copy.getModifiableSkyLight());
+    }
+}
@@ -8,7 +8,11 @@ import net.minestom.server.network.packet.server.play.ChatMessagePacket;
 import net.minestom.server.utils.PacketUtils;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,4 +47,40 @@ public class SendablePacketTest {
 
         assertSame(packet, cached.packet());
     }
+
+    @Test
+    public void cachedCompression() {
+        var packet = new ChatMessagePacket(Component.text("Hello World!"), ChatPosition.CHAT, UUID.randomUUID());
+        var cached = new CachedPacket(packet);
+
+        var compressed = cached.body(true);
+        var uncompressed = cached.body(false);
+        assertEquals(PacketUtils.allocateTrimmedPacket(packet, true).body(), compressed);
+        assertEquals(PacketUtils.allocateTrimmedPacket(packet, false).body(), uncompressed);
+        // Each variant is only computed once
+        assertSame(compressed, cached.body(true));
+        assertSame(uncompressed, cached.body(false));
+
+        cached.invalidate();
+        assertNotSame(compressed, cached.body(true));
+    }
+
+    @Test
+    public void cachedAsyncCompression() {
+        List<CompletableFuture<ByteBuffer>> futures = new ArrayList<>();
+        // Small packets are compressed in the calling thread
+        var small = new ChatMessagePacket(Component.text("Hello World!"), ChatPosition.CHAT, UUID.randomUUID());
+        var cachedSmall = new CachedPacket(small);
+        var smallBody = cachedSmall.compressedBody(futures::add);
+        assertTrue(futures.isEmpty());
+        assertEquals(PacketUtils.allocateTrimmedPacket(small, true).body(), smallBody);
+        assertSame(smallBody, cachedSmall.body(true));
+
+        var large = new ChatMessagePacket(Component.text("a".repeat(PacketUtils.ASYNC_COMPRESSION_THRESHOLD)),
+                ChatPosition.CHAT, UUID.randomUUID());
+        var cachedLarge = new CachedPacket(large);
+        assertNull(cachedLarge.compressedBody(futures::add));
+        assertEquals(1, futures.size());
+        assertEquals(PacketUtils.allocateTrimmedPacket(large, true).body(), futures.get(0).join());
+    }
 }
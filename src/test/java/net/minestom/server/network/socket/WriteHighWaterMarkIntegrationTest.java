@@ -0,0 +1,105 @@
+package net.minestom.server.network.socket;
+
+import net.minestom.server.Viewable;
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.PacketProcessor;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.EntityHeadLookPacket;
+import net.minestom.server.network.packet.server.play.EntityPositionPacket;
+import net.minestom.server.network.packet.server.play.EntityVelocityPacket;
+import net.minestom.server.network.packet.server.play.TimeUpdatePacket;
+import net.minestom.server.network.player.PlayerSocketConnection;
+import net.minestom.server.utils.PacketUtils;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class WriteHighWaterMarkIntegrationTest {
+
+    @Test
+    public void dropWhenLagging(Env env) throws IOException {
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress("localhost", 0));
+             SocketChannel client = SocketChannel.open(serverChannel.getLocalAddress());
+             SocketChannel channel = serverChannel.accept()) {
+            var worker = new Worker(new Server(new PacketProcessor(), Transport.nio()), Transport.nio().openPoller());
+            var connection = new PlayerSocketConnection(worker, channel, channel.getRemoteAddress());
+            var player = new Player(UUID.randomUUID(), "Lagging", connection);
+            // Nothing is flushed, as if the client stopped reading
+            connection.write(ByteBuffer.allocate(Server.WRITE_HIGH_WATER_MARK + 1));
+            drain(worker);
+            assertTrue(connection.isAboveHighWaterMark());
+
+            var entity = new Entity(EntityType.ZOMBIE);
+            var move = new EntityPositionPacket(entity.getEntityId(), (short) 1, (short) 0, (short) 0, true);
+            var headLook = new EntityHeadLookPacket(entity.getEntityId(), 90);
+            var velocity = new EntityVelocityPacket(entity.getEntityId(), (short) 1, (short) 0, (short) 0);
+            Viewable viewable = new Viewable() {
+                @Override
+                public boolean addViewer(@NotNull Player player) {
+                    return false;
+                }
+
+                @Override
+                public boolean removeViewer(@NotNull Player player) {
+                    return false;
+                }
+
+                @Override
+                public @NotNull Set<@NotNull Player> getViewers() {
+                    return Set.of(player);
+                }
+            };
+
+            // Grouped packets
+            assertEquals(0, written(worker, connection, () -> PacketUtils.sendGroupedPacket(List.of(player), move)));
+            assertEquals(0, written(worker, connection, () -> PacketUtils.sendGroupedPacket(List.of(player), headLook)));
+            assertNotEquals(0, written(worker, connection, () -> PacketUtils.sendGroupedPacket(List.of(player), velocity)));
+            assertNotEquals(0, written(worker, connection, () -> PacketUtils.sendGroupedPacket(List.of(player), new TimeUpdatePacket(0, 0))));
+
+            // Viewable packets, only the critical ones of the batch are written
+            final int criticalSize = size(velocity) + size(new TimeUpdatePacket(0, 0));
+            assertEquals(0, written(worker, connection, () -> {
+                PacketUtils.prepareViewablePacket(viewable, move, entity);
+                PacketUtils.prepareViewablePacket(viewable, headLook, entity);
+                PacketUtils.flush();
+            }));
+            assertEquals(criticalSize, written(worker, connection, () -> {
+                PacketUtils.prepareViewablePacket(viewable, move, entity);
+                PacketUtils.prepareViewablePacket(viewable, velocity, entity);
+                PacketUtils.prepareViewablePacket(viewable, headLook, entity);
+                PacketUtils.prepareViewablePacket(viewable, new TimeUpdatePacket(0, 0), entity);
+                PacketUtils.flush();
+            }));
+        }
+    }
+
+    private static int written(Worker worker, PlayerSocketConnection connection, Runnable action) {
+        final int pendingBytes = connection.getPendingBytes();
+        action.run();
+        drain(worker);
+        return connection.getPendingBytes() - pendingBytes;
+    }
+
+    private static int size(ServerPacket packet) {
+        return PacketUtils.createFramedPacket(packet).remaining();
+    }
+
+    private static void drain(Worker worker) {
+        worker.queue().drain(Runnable::run);
+    }
+}
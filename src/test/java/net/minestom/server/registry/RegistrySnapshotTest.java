@@ -0,0 +1,34 @@
+package net.minestom.server.registry;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistrySnapshotTest {
+
+    @ParameterizedTest
+    @EnumSource(Registry.Resource.class)
+    public void matchesJson(Registry.Resource resource) throws IOException {
+        final byte[] json = Registry.readJson(resource);
+        // The hash is retrieved from the jar when possible, it must match the content
+        final int sourceHash = Registry.sourceHash(resource);
+        assertEquals(RegistrySnapshot.hash(json), sourceHash);
+        var snapshot = Registry.loadSnapshot(resource, sourceHash);
+        assertNotNull(snapshot, "Missing snapshot for " + resource);
+        assertEquals(Registry.loadJson(json), snapshot);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Registry.Resource.class)
+    public void outdated(Registry.Resource resource) throws IOException {
+        // Snapshots generated from other json files must be ignored
+        final byte[] json = Registry.readJson(resource);
+        final byte[] modified = Arrays.copyOf(json, json.length + 1);
+        modified[json.length] = '\n';
+        assertNull(Registry.loadSnapshot(resource, RegistrySnapshot.hash(modified)));
+    }
+}
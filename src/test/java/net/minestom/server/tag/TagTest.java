@@ -1,6 +1,7 @@
 package net.minestom.server.tag;
 
 import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.jglrxavpok.hephaistos.nbt.NBTInt;
 import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 import org.junit.jupiter.api.Test;
 
@@ -46,4 +47,52 @@ public class TagTest {
         assertNull(handler.getTag(nullable));
         assertEquals("Hey", handler.getTag(notNull));
     }
+
+    @Test
+    public void testHandler() {
+        var handler = TagHandler.newHandler();
+        var tag = Tag.Integer("key");
+        handler.setTag(tag, 5);
+        assertEquals(5, handler.getTag(tag));
+        // Same key, different representation
+        assertEquals(5, handler.getTag(Tag.<NBTInt>NBT("key")).getValue());
+
+        var mutable = new MutableNBTCompound();
+        mutable.setInt("key", 5);
+        assertEquals(mutable.toCompound(), handler.getTag(Tag.NBT));
+
+        // Overwrite from the compound
+        mutable.setString("other", "value");
+        handler.setTag(Tag.NBT, mutable.toCompound());
+        assertEquals("value", handler.getTag(Tag.String("other")));
+        assertEquals(5, handler.getTag(tag));
+
+        handler.setTag(tag, null);
+        assertNull(handler.getTag(tag));
+        assertFalse(handler.hasTag(tag));
+        assertEquals(42, handler.getTag(tag.defaultValue(42)));
+    }
+
+    @Test
+    public void testHandlerHashCollision() {
+        // "Aa" and "BB" have the same hash code
+        var first = Tag.Integer("Aa");
+        var second = Tag.Integer("BB");
+        var handler = TagHandler.newHandler();
+        handler.setTag(first, 1);
+        handler.setTag(second, 2);
+        handler.setTag(Tag.String("key"), "value");
+        assertEquals(1, handler.getTag(first));
+        assertEquals(2, handler.getTag(second));
+
+        handler.setTag(first, null);
+        assertNull(handler.getTag(first));
+        assertEquals(2, handler.getTag(second));
+        assertEquals("value", handler.getTag(Tag.String("key")));
+
+        var mutable = new MutableNBTCompound();
+        mutable.setInt("BB", 2);
+        mutable.setString("key", "value");
+        assertEquals(mutable.toCompound(), handler.getTag(Tag.NBT));
+    }
 }
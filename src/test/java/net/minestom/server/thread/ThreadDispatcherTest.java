@@ -1,6 +1,8 @@
 package net.minestom.server.thread;
 
 import net.minestom.server.Tickable;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
@@ -8,6 +10,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -167,4 +170,111 @@ public class ThreadDispatcherTest {
 
         dispatcher.shutdown();
     }
+
+    @Test
+    public void workStealing() {
+        // Ensure that idle threads tick the partitions of busy ones, only once
+        final int partitionCount = 10;
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 2);
+        dispatcher.enableWorkStealing(true);
+        assertTrue(dispatcher.hasEnabledWorkStealing());
+
+        Map<Tickable, AtomicInteger> counters = new ConcurrentHashMap<>();
+        for (int i = 0; i < partitionCount; i++) {
+            final boolean slow = i == 0;
+            Tickable partition = new Tickable() {
+                @Override
+                public void tick(long time) {
+                    counters.get(this).incrementAndGet();
+                    if (slow) {
+                        try {
+                            Thread.sleep(50);
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }
+            };
+            counters.put(partition, new AtomicInteger());
+            dispatcher.createPartition(partition);
+        }
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        counters.values().forEach(counter -> assertEquals(1, counter.get()));
+        assertTrue(dispatcher.threads().stream().mapToInt(TickThread::getStolenCount).sum() > 0);
+        assertEquals(partitionCount, dispatcher.threads().stream().mapToInt(thread -> thread.entries().size()).sum());
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        counters.values().forEach(counter -> assertEquals(2, counter.get()));
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void workStealingAcquired() throws InterruptedException {
+        // Ensure that partitions are not stolen while one of their entities is acquired
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 2);
+        dispatcher.enableWorkStealing(true);
+
+        AtomicBoolean acquired = new AtomicBoolean();
+        AtomicBoolean concurrentTick = new AtomicBoolean();
+        Entity entity = new Entity(EntityType.ZOMBIE) {
+            @Override
+            public void tick(long time) {
+                if (acquired.get()) concurrentTick.set(true);
+            }
+        };
+        Tickable first = time -> {
+        };
+        Tickable second = time -> {
+        };
+        dispatcher.createPartition(first);
+        dispatcher.createPartition(second);
+        dispatcher.updateElement(entity, first);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+
+        // Hold the entity while the threads tick, the idle one tries to steal its partition
+        Acquired<Entity> acquiredEntity = entity.<Entity>getAcquirable().lock();
+        acquired.set(true);
+        Thread ticker = new Thread(() -> dispatcher.updateAndAwait(System.currentTimeMillis()));
+        ticker.start();
+        Thread.sleep(100);
+        acquired.set(false);
+        acquiredEntity.unlock();
+        ticker.join();
+        assertFalse(concurrentTick.get(), "Entity ticked while acquired");
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void balancedThreads() {
+        // Ensure that slow partitions are spread across threads
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.of(ThreadProvider.balanced(), 2);
+        Map<Tickable, Thread> slowThreads = new ConcurrentHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            final boolean slow = i % 2 == 0; // Both placed on the same thread
+            dispatcher.createPartition(new Tickable() {
+                @Override
+                public void tick(long time) {
+                    if (!slow) return;
+                    slowThreads.put(this, Thread.currentThread());
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+        }
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(1, Set.copyOf(slowThreads.values()).size());
+
+        dispatcher.refreshThreads();
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(2, Set.copyOf(slowThreads.values()).size());
+
+        dispatcher.shutdown();
+    }
 }
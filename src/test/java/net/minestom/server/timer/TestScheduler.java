@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -122,4 +123,44 @@ public class TestScheduler {
         Thread.sleep(250);
         assertTrue(result.get(), "Async task didn't get executed");
     }
+
+    @Test
+    public void delayedTickTasks() {
+        Scheduler scheduler = Scheduler.newScheduler();
+        final int[] delays = {1, 5, 63, 64, 65, 200, 4095, 4096, 5000};
+        AtomicInteger[] counters = new AtomicInteger[delays.length];
+        for (int i = 0; i < delays.length; i++) {
+            AtomicInteger counter = counters[i] = new AtomicInteger();
+            scheduler.buildTask(counter::incrementAndGet)
+                    .delay(TaskSchedule.tick(delays[i]))
+                    .schedule();
+        }
+        // Cancelled while waiting in the wheel
+        scheduler.buildTask(() -> fail("Cancelled task should never be executed"))
+                .delay(TaskSchedule.tick(100))
+                .schedule().cancel();
+        scheduler.process();
+        for (int tick = 1; tick <= 5000; tick++) {
+            scheduler.processTick();
+            for (int i = 0; i < delays.length; i++) {
+                assertEquals(tick >= delays[i] ? 1 : 0, counters[i].get(),
+                        "Task delayed by " + delays[i] + " ticks at tick " + tick);
+            }
+        }
+    }
+
+    @Test
+    public void repeatTickTask() {
+        Scheduler scheduler = Scheduler.newScheduler();
+        AtomicInteger counter = new AtomicInteger();
+        var task = scheduler.buildTask(counter::incrementAndGet)
+                .delay(TaskSchedule.tick(3))
+                .repeat(TaskSchedule.tick(3))
+                .schedule();
+        for (int i = 0; i < 30; i++) scheduler.processTick();
+        assertEquals(10, counter.get());
+        task.cancel();
+        for (int i = 0; i < 30; i++) scheduler.processTick();
+        assertEquals(10, counter.get(), "Cancelled task should not repeat");
+    }
 }